@@ -112,6 +112,12 @@ build {
     max_retries = 3
   }
 
+  provisioner "file" {
+    source      = "build_cds_archive.sh"
+    destination = "/tmp/build_cds_archive.sh"
+    max_retries = 3
+  }
+
   # Copy CloudWatch Agent configuration
   provisioner "file" {
     source      = "amazon-cloudwatch-agent.json"
@@ -126,6 +132,7 @@ build {
       "ls -la /tmp/webapp-0.0.1-SNAPSHOT.jar || echo 'JAR FILE NOT FOUND'",
       "ls -la /tmp/application.properties || echo 'APPLICATION PROPERTIES NOT FOUND'",
       "ls -la /tmp/webapp.service || echo 'SERVICE FILE NOT FOUND'",
+      "ls -la /tmp/build_cds_archive.sh || echo 'CDS SCRIPT NOT FOUND'",
       "ls -la /tmp/amazon-cloudwatch-agent.json || echo 'CLOUDWATCH CONFIG NOT FOUND'"
     ]
   }
@@ -148,6 +155,9 @@ build {
       "sudo cp /tmp/webapp-0.0.1-SNAPSHOT.jar /opt/csye6225/ || echo 'FAILED TO COPY JAR FILE'",
       "sudo cp /tmp/application.properties /opt/csye6225/ || echo 'FAILED TO COPY PROPERTIES FILE'",
 
+      "echo 'Building fast-start archive (extracted jar + CDS)...'",
+      "sudo bash /tmp/build_cds_archive.sh",
+
       "echo 'Setting up CloudWatch Agent...'",
       "sudo mkdir -p /opt/aws/amazon-cloudwatch-agent/etc",
       "sudo cp /tmp/amazon-cloudwatch-agent.json /opt/aws/amazon-cloudwatch-agent/etc/ || echo 'FAILED TO COPY CLOUDWATCH CONFIG'",
@@ -0,0 +1,32 @@
+#!/bin/bash
+
+# Builds the fast-start layout in the application directory:
+#   application/      the executable jar extracted into an application jar plus lib/
+#   application.jsa   a class-data-sharing archive recorded from one training run
+
+# Exit on any error
+set -e
+
+APP_DIR="${APP_DIR:-/opt/csye6225}"
+JAR_NAME="${JAR_NAME:-webapp-0.0.1-SNAPSHOT.jar}"
+
+cd "$APP_DIR"
+rm -rf application application.jsa
+
+echo "Extracting $JAR_NAME..."
+java -Djarmode=tools -jar "$JAR_NAME" extract --destination application
+
+# The training run stops as soon as the context has refreshed. Hibernate is kept away from
+# JDBC metadata so no database is needed while the image is built.
+echo "Recording class-data-sharing archive..."
+java -XX:ArchiveClassesAtExit="$APP_DIR/application.jsa" \
+    -Dspring.context.exit=onRefresh \
+    -Dspring.config.location="file:$APP_DIR/application.properties" \
+    -Dlogging.file.name=/tmp/webapp-cds-training.log \
+    -Dspring.jpa.hibernate.ddl-auto=none \
+    -Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false \
+    -Dspring.jpa.database-platform=org.hibernate.dialect.MySQLDialect \
+    -jar "$APP_DIR/application/$JAR_NAME"
+
+ls -la "$APP_DIR/application.jsa"
+echo "Fast-start archive ready"
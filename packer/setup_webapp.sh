@@ -44,6 +44,10 @@ echo "Moving application files..."
 sudo mv /tmp/$JAR_NAME $APP_DIR/
 sudo mv /tmp/application.properties $APP_DIR/
 
+# Build the fast-start layout (extracted jar + class-data-sharing archive)
+echo "Building fast-start archive..."
+sudo APP_DIR=$APP_DIR JAR_NAME=$JAR_NAME bash /tmp/build_cds_archive.sh
+
 # Set permissions
 echo "Setting permissions..."
 sudo chown -R $APP_USER:$APP_GROUP $APP_DIR
@@ -0,0 +1,77 @@
+#!/bin/bash
+
+# Measures time from process launch to the first 200 from /healthz, for the plain jar and
+# for the fast-start layout (extracted jar + CDS archive, see build_cds_archive.sh). Run it on an
+# instance built from the AMI, with the database reachable:
+#   sudo ./startup_benchmark.sh [runs]
+# webapp.service is stopped while measuring and restarted afterwards.
+
+set -e
+
+RUNS="${1:-5}"
+APP_DIR="${APP_DIR:-/opt/csye6225}"
+JAR_NAME="${JAR_NAME:-webapp-0.0.1-SNAPSHOT.jar}"
+PORT="${PORT:-8080}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+
+if [ -f /etc/environment ]; then
+    set -a
+    . /etc/environment
+    set +a
+fi
+
+COMMON_OPTS="-Dspring.config.location=file:$APP_DIR/application.properties -Dlogging.file.name=/tmp/webapp-startup-benchmark.log"
+PLAIN_CMD="java $COMMON_OPTS -jar $APP_DIR/$JAR_NAME"
+FAST_CMD="java -XX:SharedArchiveFile=$APP_DIR/application.jsa $COMMON_OPTS -jar $APP_DIR/application/$JAR_NAME"
+
+# Prints milliseconds from launch to the first healthy response, or fails on timeout
+measure() {
+    local start pid elapsed
+    start=$(date +%s%N)
+    $1 > /dev/null 2>&1 &
+    pid=$!
+    while true; do
+        if curl -sf -o /dev/null "http://localhost:$PORT/healthz"; then
+            elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+            break
+        fi
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited before becoming healthy" >&2
+            return 1
+        fi
+        if [ $(( ($(date +%s%N) - start) / 1000000000 )) -ge "$TIMEOUT_SECONDS" ]; then
+            kill "$pid"
+            echo "no healthy response within ${TIMEOUT_SECONDS}s" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+report() {
+    local name=$1 cmd=$2 results=()
+    for i in $(seq 1 "$RUNS"); do
+        results+=("$(measure "$cmd")")
+    done
+    printf '%s\n' "${results[@]}" | sort -n | awk -v name="$name" '
+        { v[NR] = $1; sum += $1 }
+        END { printf "%-10s runs=%d min=%dms median=%dms max=%dms mean=%dms\n", name, NR, v[1], v[int((NR + 1) / 2)], v[NR], sum / NR }'
+}
+
+WAS_ACTIVE=false
+if systemctl is-active --quiet webapp.service; then
+    WAS_ACTIVE=true
+    systemctl stop webapp.service
+fi
+trap '[ "$WAS_ACTIVE" = true ] && systemctl start webapp.service' EXIT
+
+echo "Time to first healthy /healthz response ($RUNS runs each):"
+report "plain" "$PLAIN_CMD"
+if [ -f "$APP_DIR/application.jsa" ]; then
+    report "fast-start" "$FAST_CMD"
+else
+    echo "fast-start skipped: $APP_DIR/application.jsa not found"
+fi
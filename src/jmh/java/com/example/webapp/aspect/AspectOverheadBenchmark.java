@@ -0,0 +1,125 @@
+package com.example.webapp.aspect;
+
+import com.example.webapp.controller.FileController;
+import com.example.webapp.repositry.FileRepository;
+import com.example.webapp.service.S3Service;
+import com.example.webapp.service.ServiceFixtures;
+import com.example.webapp.support.InMemoryAmazonS3;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-invocation cost of each metrics aspect: the same trivial method called
+ * directly and through a proxy carrying the aspect, as the container wires it.
+ * The difference between each pair is the aspect's overhead.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AspectOverheadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Targets {
+        S3Service s3Service;
+        S3Service advisedS3Service;
+        FileRepository fileRepository;
+        FileRepository advisedFileRepository;
+        FileController fileController;
+        FileController advisedFileController;
+
+        @Setup
+        public void setUp() {
+            OperationMetrics operationMetrics = new OperationMetrics();
+            ReflectionTestUtils.setField(operationMetrics, "meterRegistry", new SimpleMeterRegistry());
+
+            S3MetricsAspect s3Aspect = new S3MetricsAspect();
+            ReflectionTestUtils.setField(s3Aspect, "operationMetrics", operationMetrics);
+            DatabaseMetricsAspect databaseAspect = new DatabaseMetricsAspect();
+            ReflectionTestUtils.setField(databaseAspect, "operationMetrics", operationMetrics);
+            MetricsAspect apiAspect = new MetricsAspect();
+            ReflectionTestUtils.setField(apiAspect, "operationMetrics", operationMetrics);
+
+            s3Service = ServiceFixtures.s3Service(new InMemoryAmazonS3());
+            advisedS3Service = advise(s3Service, s3Aspect);
+            fileRepository = ServiceFixtures.fileRepository();
+            advisedFileRepository = advise(fileRepository, databaseAspect);
+            fileController = new FileController();
+            advisedFileController = advise(fileController, apiAspect);
+        }
+
+        private static <T> T advise(T target, Object aspect) {
+            AspectJProxyFactory factory = new AspectJProxyFactory(target);
+            factory.addAspect(aspect);
+            return factory.getProxy();
+        }
+    }
+
+    // MetricsAspect reads the current request from a thread-bound holder
+    @State(Scope.Thread)
+    public static class Request {
+        @Setup
+        public void bind() {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/file");
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/file");
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        }
+
+        @TearDown
+        public void unbind() {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Benchmark
+    public Duration s3Direct(Targets targets) {
+        return targets.s3Service.getPresignExpiration();
+    }
+
+    @Benchmark
+    public Duration s3Advised(Targets targets) {
+        return targets.advisedS3Service.getPresignExpiration();
+    }
+
+    @Benchmark
+    public long databaseDirect(Targets targets) {
+        return targets.fileRepository.count();
+    }
+
+    @Benchmark
+    public long databaseAdvised(Targets targets) {
+        return targets.advisedFileRepository.count();
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> apiDirect(Targets targets, Request request) {
+        return targets.fileController.getFileWithoutId();
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> apiAdvised(Targets targets, Request request) {
+        return targets.advisedFileController.getFileWithoutId();
+    }
+}
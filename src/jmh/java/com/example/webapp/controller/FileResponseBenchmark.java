@@ -0,0 +1,61 @@
+package com.example.webapp.controller;
+
+import com.example.webapp.repositry.FileRepository;
+import com.example.webapp.service.FileMetadataCache;
+import com.example.webapp.service.FileService;
+import com.example.webapp.service.ServiceFixtures;
+import com.example.webapp.support.InMemoryAmazonS3;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /v1/file/{id} through the controller with a warm metadata cache, so the
+ * numbers are dominated by id parsing and building the response body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileResponseBenchmark {
+
+    private FileController fileController;
+    private String id;
+
+    @Setup
+    public void setUp() throws IOException {
+        FileRepository fileRepository = ServiceFixtures.fileRepository();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FileMetadataCache cache = ServiceFixtures.fileMetadataCache(fileRepository, meterRegistry, true);
+        FileService fileService = ServiceFixtures.fileService(fileRepository,
+                ServiceFixtures.s3Service(new InMemoryAmazonS3()), cache, meterRegistry);
+        fileController = new FileController();
+        ReflectionTestUtils.setField(fileController, "fileService", fileService);
+
+        id = fileService.uploadFile(new MockMultipartFile("profilePic", "profile.png", "image/png", new byte[16]))
+                .getId().toString();
+        fileController.getFile(id);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> getFile() {
+        return fileController.getFile(id);
+    }
+}
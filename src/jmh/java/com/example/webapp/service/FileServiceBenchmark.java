@@ -0,0 +1,84 @@
+package com.example.webapp.service;
+
+import com.example.webapp.model.File;
+import com.example.webapp.repositry.FileRepository;
+import com.example.webapp.support.InMemoryAmazonS3;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FileService end to end against in-memory S3 and repositories, so the numbers
+ * cover the application's own work (key generation, entity and URL building,
+ * logging, caching) without network or database time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileServiceBenchmark {
+
+    @Param({"1024", "65536"})
+    public int bodySize;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private InMemoryAmazonS3 amazonS3;
+    private FileRepository fileRepository;
+    private FileService fileService;
+    private MockMultipartFile upload;
+    private String existingId;
+
+    @Setup
+    public void setUp() throws IOException {
+        amazonS3 = new InMemoryAmazonS3();
+        fileRepository = ServiceFixtures.fileRepository();
+        S3Service s3Service = ServiceFixtures.s3Service(amazonS3);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FileMetadataCache cache = ServiceFixtures.fileMetadataCache(fileRepository, meterRegistry, cacheEnabled);
+        fileService = ServiceFixtures.fileService(fileRepository, s3Service, cache, meterRegistry);
+        upload = new MockMultipartFile("profilePic", "profile.png", "image/png", new byte[bodySize]);
+        seed();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reset() throws IOException {
+        // Keep the stores from growing across iterations
+        fileRepository.deleteAll();
+        amazonS3.clear();
+        seed();
+    }
+
+    private void seed() throws IOException {
+        existingId = fileService.uploadFile(upload).getId().toString();
+    }
+
+    @Benchmark
+    public File uploadFile() throws IOException {
+        return fileService.uploadFile(upload);
+    }
+
+    @Benchmark
+    public Optional<File> getFile() {
+        return fileService.getFile(existingId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.webapp.service;
+
+import com.example.webapp.support.InMemoryAmazonS3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class S3ServiceBenchmark {
+
+    private static final String URL =
+            "https://" + ServiceFixtures.BUCKET + ".s3.amazonaws.com/3f2b8c1e-4d5a-4e6f-9a7b-1c2d3e4f5a6b_profile.png";
+
+    private S3Service s3Service;
+
+    @Setup
+    public void setUp() {
+        s3Service = ServiceFixtures.s3Service(new InMemoryAmazonS3());
+    }
+
+    @Benchmark
+    public String getKey() {
+        return s3Service.getKey(URL);
+    }
+
+    @Benchmark
+    public String generateUniqueFileName() {
+        return s3Service.generateUniqueFileName("profile.png");
+    }
+}
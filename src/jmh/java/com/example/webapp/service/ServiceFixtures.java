@@ -0,0 +1,70 @@
+package com.example.webapp.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.example.webapp.model.File;
+import com.example.webapp.repositry.FileRepository;
+import com.example.webapp.support.InMemoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Wires the services by hand, the way the container would with the default
+ * application.properties, around in-memory stand-ins. Collaborators the
+ * benchmarked paths never reach are left null.
+ */
+public final class ServiceFixtures {
+
+    public static final String BUCKET = "benchmark-bucket";
+
+    private ServiceFixtures() {
+    }
+
+    public static FileRepository fileRepository() {
+        return InMemoryRepository.create(FileRepository.class, File::getId);
+    }
+
+    public static S3Service s3Service(AmazonS3 amazonS3) {
+        S3Service s3Service = new S3Service();
+        ReflectionTestUtils.setField(s3Service, "amazonS3Client", amazonS3);
+        ReflectionTestUtils.setField(s3Service, "bucketName", BUCKET);
+        ReflectionTestUtils.setField(s3Service, "multipartThreshold", DataSize.ofMegabytes(16));
+        ReflectionTestUtils.setField(s3Service, "presignExpiration", Duration.ofMinutes(15));
+        return s3Service;
+    }
+
+    public static S3StorageBackend s3StorageBackend(S3Service s3Service) {
+        S3StorageBackend backend = new S3StorageBackend();
+        ReflectionTestUtils.setField(backend, "s3Service", s3Service);
+        return backend;
+    }
+
+    public static FileMetadataCache fileMetadataCache(FileRepository fileRepository, MeterRegistry meterRegistry,
+                                                      boolean enabled) {
+        FileMetadataCache cache = new FileMetadataCache();
+        ReflectionTestUtils.setField(cache, "fileRepository", fileRepository);
+        ReflectionTestUtils.setField(cache, "readReplicaRouter", new ReadReplicaRouter());
+        ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", enabled);
+        ReflectionTestUtils.setField(cache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(cache, "negativeTtl", Duration.ofSeconds(5));
+        cache.init();
+        return cache;
+    }
+
+    public static FileService fileService(FileRepository fileRepository, S3Service s3Service, FileMetadataCache cache,
+                                          MeterRegistry meterRegistry) {
+        FileService fileService = new FileService();
+        ReflectionTestUtils.setField(fileService, "fileRepository", fileRepository);
+        ReflectionTestUtils.setField(fileService, "s3Service", s3Service);
+        ReflectionTestUtils.setField(fileService, "storageBackend", s3StorageBackend(s3Service));
+        ReflectionTestUtils.setField(fileService, "fileMetadataCache", cache);
+        ReflectionTestUtils.setField(fileService, "readReplicaRouter", new ReadReplicaRouter());
+        ReflectionTestUtils.setField(fileService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(fileService, "s3Bucket", BUCKET);
+        return fileService;
+    }
+}
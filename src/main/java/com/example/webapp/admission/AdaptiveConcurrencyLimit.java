@@ -0,0 +1,123 @@
+package com.example.webapp.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Lock-free AIMD concurrency limit for one endpoint. Every completed request
+ * is a latency sample: a sample slower than {@code latencyTolerance} times the
+ * long-term average (or a failed request) cuts the limit by
+ * {@code backoffRatio}, at most once per average latency; otherwise, while the
+ * endpoint is actually using its limit, the limit grows by one per limit's
+ * worth of completions. For endpoints whose latency follows the body size
+ * rather than load (uploads, downloads) the latency signal is switched off and
+ * only failures cut the limit.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // Weight of each sample in the long-term latency average
+    private static final double BASELINE_ALPHA = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final boolean latencySignal;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // Doubles stored as raw long bits so they can be updated with CAS
+    private final AtomicLong limitBits;
+    private final AtomicLong baselineBits = new AtomicLong(Double.doubleToLongBits(Double.NaN));
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime());
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                    double latencyTolerance, boolean latencySignal) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.latencySignal = latencySignal;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(Math.max(minLimit, Math.min(maxLimit, initialLimit))));
+    }
+
+    /**
+     * Takes a slot if fewer than the current limit are in flight. Returns the
+     * in-flight count including this request, or -1 when over the limit.
+     */
+    public int tryAcquire() {
+        int limit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot and feeds the request's outcome to the limit.
+     *
+     * @param inFlightAtStart the value returned by {@link #tryAcquire()}
+     */
+    public void release(int inFlightAtStart, long latencyNanos, boolean failed) {
+        inFlight.decrementAndGet();
+
+        double baseline = Double.longBitsToDouble(baselineBits.get());
+        boolean overloaded = failed
+                || (latencySignal && !Double.isNaN(baseline) && latencyNanos > baseline * latencyTolerance);
+        if (!failed) {
+            updateBaseline(latencyNanos);
+        }
+
+        if (overloaded) {
+            long now = System.nanoTime();
+            long last = lastDecreaseNanos.get();
+            // One cut per round trip, not one per slow request that was already in flight
+            if (now - last >= (Double.isNaN(baseline) ? 0 : (long) baseline) && lastDecreaseNanos.compareAndSet(last, now)) {
+                updateLimit(limit -> limit * backoffRatio);
+            }
+        } else if (inFlightAtStart * 2 >= getLimit()) {
+            updateLimit(limit -> limit + 1.0 / limit);
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Average latency of successful requests in nanoseconds, NaN before the first one.
+     */
+    public double getBaselineNanos() {
+        return Double.longBitsToDouble(baselineBits.get());
+    }
+
+    private void updateBaseline(long latencyNanos) {
+        while (true) {
+            long bits = baselineBits.get();
+            double baseline = Double.longBitsToDouble(bits);
+            double next = Double.isNaN(baseline) ? latencyNanos : baseline + BASELINE_ALPHA * (latencyNanos - baseline);
+            if (baselineBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private void updateLimit(DoubleUnaryOperator update) {
+        while (true) {
+            long bits = limitBits.get();
+            double next = Math.max(minLimit, Math.min(maxLimit, update.applyAsDouble(Double.longBitsToDouble(bits))));
+            if (limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
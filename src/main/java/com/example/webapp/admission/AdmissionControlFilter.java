@@ -0,0 +1,216 @@
+package com.example.webapp.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admission control in front of the /v1/file endpoints. It runs before the
+ * dispatcher parses multipart bodies, so a rejected upload costs nothing
+ * beyond its headers. Requests over a client's token bucket get 429, and
+ * requests over their endpoint's adaptive concurrency limit get 503. Both
+ * carry Retry-After. Requests that start async processing (async uploads,
+ * streamed content) hold their slot until the async cycle completes.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Settings settings;
+    private final ClientRateLimiter clientRateLimiter;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public AdmissionControlFilter(MeterRegistry meterRegistry, Settings settings, ClientRateLimiter clientRateLimiter) {
+        this.meterRegistry = meterRegistry;
+        this.settings = settings;
+        this.clientRateLimiter = clientRateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String name = endpointName(request);
+        if (name == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Endpoint endpoint = endpoints.get(name);
+        if (endpoint == null) {
+            endpoint = endpoints.computeIfAbsent(name, this::register);
+        }
+
+        if (clientRateLimiter != null) {
+            long waitNanos = clientRateLimiter.tryAcquire(clientKey(request, settings.trustedProxies()));
+            if (waitNanos > 0) {
+                endpoint.rateLimited.increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, Duration.ofNanos(waitNanos));
+                return;
+            }
+        }
+
+        int inFlightAtStart = endpoint.limit.tryAcquire();
+        if (inFlightAtStart < 0) {
+            endpoint.overLimit.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, settings.retryAfter());
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean released = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(endpoint, inFlightAtStart, start));
+                released = true;
+            }
+        } finally {
+            if (!released) {
+                endpoint.limit.release(inFlightAtStart, System.nanoTime() - start, response.getStatus() >= 500);
+            }
+        }
+    }
+
+    // Only the file endpoints are limited; /healthz and unknown paths pass straight through
+    static String endpointName(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        if (path.equals("/v1/files")) {
+            return "GET".equals(method) ? "list" : null;
+        }
+        if (path.equals("/v1/file")) {
+            return "POST".equals(method) ? "upload" : null;
+        }
+        if (!path.startsWith("/v1/file/")) {
+            return null;
+        }
+        String rest = path.substring("/v1/file/".length());
+        if ("POST".equals(method)) {
+            return switch (rest) {
+                case "upload-url" -> "upload-url";
+                case "commit" -> "commit";
+                case "batch-delete" -> "batch-delete";
+                default -> null;
+            };
+        }
+        int slash = rest.indexOf('/');
+        if (slash < 0) {
+            return switch (method) {
+                case "GET" -> "get";
+                case "DELETE" -> "delete";
+                default -> null;
+            };
+        }
+        return "GET".equals(method) && rest.substring(slash).equals("/content") ? "content" : null;
+    }
+
+    /**
+     * The address the nearest untrusted hop connected from. Each trusted proxy
+     * appends the address it received the request from to X-Forwarded-For, so
+     * with {@code trustedProxies} proxies in front (1 behind the ALB) that is the
+     * entry {@code trustedProxies} from the right; entries further left are
+     * whatever the client sent and could be forged.
+     */
+    static String clientKey(HttpServletRequest request, int trustedProxies) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (trustedProxies <= 0 || forwarded == null || forwarded.isBlank()) {
+            return request.getRemoteAddr();
+        }
+        int end = forwarded.length();
+        for (int hop = 1; ; hop++) {
+            int comma = forwarded.lastIndexOf(',', end - 1);
+            // Fewer entries than trusted proxies: the leftmost is the furthest one recorded
+            if (hop == trustedProxies || comma < 0) {
+                return forwarded.substring(comma + 1, end).trim();
+            }
+            end = comma;
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, Duration retryAfter) {
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate");
+    }
+
+    private Endpoint register(String name) {
+        boolean latencySignal = !settings.sizeBoundEndpoints().contains(name);
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(settings.initialLimit(), settings.minLimit(),
+                settings.maxLimit(), settings.backoffRatio(), settings.latencyTolerance(), latencySignal);
+        Gauge.builder("admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        Gauge.builder("admission.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        Gauge.builder("admission.latency.baseline", limit, l -> l.getBaselineNanos() / 1_000_000)
+                .baseUnit("milliseconds")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+        logger.info("Admission control for endpoint {}: initialLimit={}, latencySignal={}", name, limit.getLimit(), latencySignal);
+        return new Endpoint(limit,
+                meterRegistry.counter("admission.rejected", "endpoint", name, "reason", "concurrency"),
+                meterRegistry.counter("admission.rejected", "endpoint", name, "reason", "rate"));
+    }
+
+    public record Settings(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                           double latencyTolerance, Set<String> sizeBoundEndpoints, Duration retryAfter,
+                           int trustedProxies) {
+    }
+
+    private record Endpoint(AdaptiveConcurrencyLimit limit, Counter overLimit, Counter rateLimited) {
+    }
+
+    private static final class ReleaseOnComplete implements AsyncListener {
+        private final Endpoint endpoint;
+        private final int inFlightAtStart;
+        private final long start;
+        private boolean failed;
+
+        private ReleaseOnComplete(Endpoint endpoint, int inFlightAtStart, long start) {
+            this.endpoint = endpoint;
+            this.inFlightAtStart = inFlightAtStart;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            int status = ((HttpServletResponse) event.getSuppliedResponse()).getStatus();
+            endpoint.limit.release(inFlightAtStart, System.nanoTime() - start, failed || status >= 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register for the next cycle if processing starts async again
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
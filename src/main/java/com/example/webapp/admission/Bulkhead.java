@@ -0,0 +1,74 @@
+package com.example.webapp.admission;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how much concurrent work of one kind may run. Up to
+ * {@code maxConcurrent} requests run at once, up to {@code maxQueued} more
+ * wait at most {@code maxWait} for a slot, and anything beyond is refused
+ * immediately. Because waiting requests also hold a servlet thread, the queue
+ * is part of the bulkhead's footprint.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, Duration maxWait) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWait = maxWait;
+        // Fair, so queued requests are served in arrival order
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Returns true once a slot is held, false if the queue is full or the wait timed out.
+     */
+    public boolean acquire() throws InterruptedException {
+        if (queued.get() == 0 && permits.tryAcquire()) {
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return false;
+        }
+        try {
+            return permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+}
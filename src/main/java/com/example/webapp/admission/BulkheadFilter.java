@@ -0,0 +1,149 @@
+package com.example.webapp.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs each kind of work (upload, read, download, delete, health) inside its
+ * own {@link Bulkhead}, so a backlog of one kind can only exhaust its own
+ * slots: slow uploads queue or are refused with 503 while metadata reads and
+ * /healthz keep their share of the servlet threads. A request that starts
+ * async processing (streamed content) holds its slot until the async cycle
+ * completes.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    private final Map<String, Guard> guards = new HashMap<>();
+    private final Duration retryAfter;
+
+    public BulkheadFilter(MeterRegistry meterRegistry, Iterable<Bulkhead> bulkheads, Duration retryAfter) {
+        this.retryAfter = retryAfter;
+        for (Bulkhead bulkhead : bulkheads) {
+            String name = bulkhead.getName();
+            Gauge.builder("bulkhead.active", bulkhead, Bulkhead::getActive)
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.queued", bulkhead, Bulkhead::getQueued)
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.saturation", bulkhead, b -> (double) b.getActive() / b.getMaxConcurrent())
+                    .description("Share of the bulkhead's concurrent slots in use")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Timer wait = Timer.builder("bulkhead.wait")
+                    .description("Time spent waiting for a bulkhead slot")
+                    .tag("bulkhead", name)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+            guards.put(name, new Guard(bulkhead, wait, meterRegistry.counter("bulkhead.rejected", "bulkhead", name)));
+            logger.info("Bulkhead {}: maxConcurrent={}, maxQueued={}", name, bulkhead.getMaxConcurrent(), bulkhead.getMaxQueued());
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String workType = workType(request);
+        Guard guard = workType == null ? null : guards.get(workType);
+        if (guard == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long waitStart = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = guard.bulkhead.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        guard.wait.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            guard.rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfter.toSeconds())));
+            return;
+        }
+
+        boolean released = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(guard.bulkhead));
+                released = true;
+            }
+        } finally {
+            if (!released) {
+                guard.bulkhead.release();
+            }
+        }
+    }
+
+    static String workType(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals("/healthz")) {
+            return "health";
+        }
+        String endpoint = AdmissionControlFilter.endpointName(request);
+        if (endpoint == null) {
+            return null;
+        }
+        return switch (endpoint) {
+            case "upload", "commit" -> "upload";
+            case "get", "list", "upload-url" -> "read";
+            case "content" -> "download";
+            case "delete", "batch-delete" -> "delete";
+            default -> null;
+        };
+    }
+
+    private record Guard(Bulkhead bulkhead, Timer wait, Counter rejected) {
+    }
+
+    private static final class ReleaseOnComplete implements AsyncListener {
+        private final Bulkhead bulkhead;
+
+        private ReleaseOnComplete(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            bulkhead.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
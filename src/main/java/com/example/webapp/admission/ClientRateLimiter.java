@@ -0,0 +1,52 @@
+package com.example.webapp.admission;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-client token buckets kept in a fixed array of atomic stripes. Each
+ * stripe holds the bucket's theoretical arrival time (the generic cell rate
+ * algorithm), so admitting a request is one CAS and the memory used does not
+ * grow with the number of clients. Clients whose keys hash to the same stripe
+ * share a bucket.
+ */
+public class ClientRateLimiter {
+
+    private final AtomicLongArray stripes;
+    private final int mask;
+    // Nanoseconds per token, and how far ahead of now the arrival time may run (the burst)
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    public ClientRateLimiter(double permitsPerSecond, int burst, int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+    }
+
+    /**
+     * Takes a token for the client. Returns 0 when admitted, otherwise the
+     * nanoseconds until a token will be available.
+     */
+    public long tryAcquire(String clientKey) {
+        int stripe = spread(clientKey.hashCode()) & mask;
+        long now = System.nanoTime();
+        while (true) {
+            long arrival = stripes.get(stripe);
+            // An empty stripe, or one idle for longer than a full refill, starts from now
+            long base = arrival == 0 || arrival - now < 0 ? now : arrival;
+            long wait = base - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (stripes.compareAndSet(stripe, arrival, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -1,17 +1,18 @@
 package com.example.webapp.aspect;
 
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
+import com.example.webapp.config.ReplicaRoutingDataSource;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.TimeUnit;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 @Component
@@ -20,39 +21,47 @@ public class DatabaseMetricsAspect {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseMetricsAspect.class);
 
     @Autowired
-    private MeterRegistry meterRegistry;
+    private OperationMetrics operationMetrics;
+
+    // Inherited repository methods share a Method object, so key by target class first, then by
+    // the routing target (primary or a replica) serving the query
+    private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Method, ConcurrentHashMap<String, OperationMetrics.Meters>>> meters =
+            new ConcurrentHashMap<>();
 
     @Pointcut("execution(* com.example.webapp.repositry.*.*(..))")
     public void repositoryMethods() {}
 
     @Around("repositoryMethods()")
     public Object measureDatabaseTiming(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        String metricName = "database.query." + className + "." + methodName;
-
-        logger.info("Database operation: {} - {}", className, methodName);
-
-        // Time the database operation
-        long startTime = System.currentTimeMillis();
-        Object result;
-        try {
-            result = joinPoint.proceed();
-            long endTime = System.currentTimeMillis();
-            long executionTime = endTime - startTime;
-
-            // Record timing
-            Timer.builder(metricName)
-                    .tags("class", className, "method", methodName)
-                    .register(meterRegistry)
-                    .record(executionTime, TimeUnit.MILLISECONDS);
-
-            logger.info("Database operation: {} - {} completed in {} ms", className, methodName, executionTime);
-            return result;
-        } catch (Exception e) {
-            meterRegistry.counter("database.errors", "class", className, "method", methodName).increment();
-            logger.error("Database operation: {} - {} failed: {}", className, methodName, e.getMessage(), e);
-            throw e;
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String target = ReplicaRoutingDataSource.currentTarget();
+
+        ConcurrentHashMap<Method, ConcurrentHashMap<String, OperationMetrics.Meters>> byMethod = meters.get(targetClass);
+        if (byMethod == null) {
+            byMethod = meters.computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>());
+        }
+        ConcurrentHashMap<String, OperationMetrics.Meters> byTarget = byMethod.get(method);
+        if (byTarget == null) {
+            byTarget = byMethod.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        OperationMetrics.Meters query = byTarget.get(target);
+        if (query == null) {
+            query = byTarget.computeIfAbsent(target, key -> register(targetClass, method, key));
+        }
+
+        logger.info("{}", query.getLabel());
+        return operationMetrics.record(joinPoint, query, logger);
+    }
+
+    private OperationMetrics.Meters register(Class<?> targetClass, Method method, String target) {
+        String className = targetClass.getSimpleName();
+        String methodName = method.getName();
+        String label = "Database operation: " + className + " - " + methodName;
+        if (!ReplicaRoutingDataSource.PRIMARY.equals(target)) {
+            label += " on " + target;
         }
+        return operationMetrics.register(label, "database.query." + className + "." + methodName, "database.errors",
+                "class", className, "method", methodName, "target", target);
     }
-}
\ No newline at end of file
+}
@@ -1,20 +1,23 @@
 package com.example.webapp.aspect;
 
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.Counter;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
 
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.concurrent.TimeUnit;
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 @Component
@@ -23,7 +26,11 @@ public class MetricsAspect {
     private static final Logger logger = LoggerFactory.getLogger(MetricsAspect.class);
 
     @Autowired
-    private MeterRegistry meterRegistry;
+    private OperationMetrics operationMetrics;
+
+    // Handler method -> HTTP method -> meters. Each handler is mapped to a single route
+    // template, so the pair identifies the endpoint without building a key per call.
+    private final ConcurrentHashMap<Method, ConcurrentHashMap<String, ApiMeters>> meters = new ConcurrentHashMap<>();
 
     @Pointcut("execution(* com.example.webapp.controller.*.*(..))")
     public void controllerMethods() {}
@@ -31,37 +38,45 @@ public class MetricsAspect {
     @Around("controllerMethods()")
     public Object measureApiTiming(ProceedingJoinPoint joinPoint) throws Throwable {
         HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
-        String methodName = joinPoint.getSignature().getName();
-        String uri = request.getRequestURI();
         String httpMethod = request.getMethod();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
 
-        String metricName = "api.request." + httpMethod.toLowerCase() + "." + methodName;
-        String logMsg = String.format("%s %s called", httpMethod, uri);
-        logger.info(logMsg);
+        ConcurrentHashMap<String, ApiMeters> byHttpMethod = meters.get(method);
+        if (byHttpMethod == null) {
+            byHttpMethod = meters.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        ApiMeters api = byHttpMethod.get(httpMethod);
+        if (api == null) {
+            api = byHttpMethod.computeIfAbsent(httpMethod, key -> register(method, key, request));
+        }
 
-        // Increment counter for API call
-        meterRegistry.counter("api.calls", "method", httpMethod, "uri", uri).increment();
+        // The URI is only read when the line is written
+        if (logger.isInfoEnabled()) {
+            logger.info("{} {} called", httpMethod, request.getRequestURI());
+        }
+        api.calls.increment();
+        return operationMetrics.record(joinPoint, api.meters, logger);
+    }
+
+    private ApiMeters register(Method method, String httpMethod, HttpServletRequest request) {
+        // Tag by the matched route template, never the raw URI, to keep cardinality bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNKNOWN";
 
-        // Time the API call
-        long startTime = System.currentTimeMillis();
-        Object result;
-        try {
-            result = joinPoint.proceed();
-            long endTime = System.currentTimeMillis();
-            long executionTime = endTime - startTime;
+        String metricName = "api.request." + httpMethod.toLowerCase(Locale.ROOT) + "." + method.getName();
+        OperationMetrics.Meters meters = operationMetrics.register(httpMethod + " " + route, metricName,
+                "api.errors", "uri", route, "method", httpMethod);
+        Counter calls = operationMetrics.counter("api.calls", "method", httpMethod, "uri", route);
+        return new ApiMeters(meters, calls);
+    }
 
-            // Record timing
-            Timer.builder(metricName)
-                    .tags("uri", uri, "method", httpMethod)
-                    .register(meterRegistry)
-                    .record(executionTime, TimeUnit.MILLISECONDS);
+    private static final class ApiMeters {
+        private final OperationMetrics.Meters meters;
+        private final Counter calls;
 
-            logger.info("{} {} completed in {} ms", httpMethod, uri, executionTime);
-            return result;
-        } catch (Exception e) {
-            meterRegistry.counter("api.errors", "method", httpMethod, "uri", uri).increment();
-            logger.error("{} {} failed: {}", httpMethod, uri, e.getMessage(), e);
-            throw e;
+        private ApiMeters(OperationMetrics.Meters meters, Counter calls) {
+            this.meters = meters;
+            this.calls = calls;
         }
     }
-}
\ No newline at end of file
+}
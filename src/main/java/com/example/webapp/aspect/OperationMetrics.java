@@ -0,0 +1,90 @@
+package com.example.webapp.aspect;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared timing for the metrics aspects. Each aspect resolves a {@link Meters}
+ * handle once per join point and caches it, so a call to a known operation
+ * only reads the cache, takes two nanoTime readings and updates its meters.
+ */
+@Component
+public class OperationMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public Meters register(String label, String timerName, String errorCounterName, String... tags) {
+        Timer timer = Timer.builder(timerName)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(meterRegistry);
+        Counter errors = meterRegistry.counter(errorCounterName, tags);
+        return new Meters(label, timer, errors);
+    }
+
+    public Counter counter(String name, String... tags) {
+        return meterRegistry.counter(name, tags);
+    }
+
+    public Object record(ProceedingJoinPoint joinPoint, Meters meters, Logger logger) throws Throwable {
+        long startTime = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            meters.errors.increment();
+            logger.error("{} failed: {}", meters.label, e.getMessage(), e);
+            throw e;
+        }
+
+        // Handlers that return a future are timed until the future completes
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, error) -> {
+                if (error != null) {
+                    meters.errors.increment();
+                }
+                complete(meters, logger, startTime);
+            });
+        } else {
+            complete(meters, logger, startTime);
+        }
+        return result;
+    }
+
+    private static void complete(Meters meters, Logger logger, long startTime) {
+        long elapsed = System.nanoTime() - startTime;
+        meters.timer.record(elapsed, TimeUnit.NANOSECONDS);
+        if (logger.isInfoEnabled()) {
+            logger.info("{} completed in {} ms", meters.label, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    public static final class Meters {
+        private final String label;
+        private final Timer timer;
+        private final Counter errors;
+
+        private Meters(String label, Timer timer, Counter errors) {
+            this.label = label;
+            this.timer = timer;
+            this.errors = errors;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+}
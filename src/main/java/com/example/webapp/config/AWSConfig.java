@@ -1,24 +1,63 @@
 package com.example.webapp.config;
 
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.InstanceProfileCredentialsProvider;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+
+import java.time.Duration;
 
 @Configuration
 public class AWSConfig {
+    @Autowired
+    private S3ConnectionPoolMetrics s3ConnectionPoolMetrics;
 
     @Value("${aws.region:us-east-1}")
     private String region;
 
+    @Value("${s3.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${s3.http.connection-timeout:10s}")
+    private Duration connectionTimeout;
+
+    @Value("${storage.async.max-concurrency:200}")
+    private int asyncMaxConcurrency;
+
+    @Value("${storage.async.connection-acquisition-timeout:10s}")
+    private Duration asyncAcquisitionTimeout;
+
     @Bean
     public AmazonS3 amazonS3Client() {
         return AmazonS3ClientBuilder.standard()
                 .withRegion(Regions.fromName(region))
                 .withCredentials(new InstanceProfileCredentialsProvider(false))
+                .withClientConfiguration(new ClientConfiguration()
+                        .withMaxConnections(maxConnections)
+                        .withConnectionTimeout((int) connectionTimeout.toMillis()))
+                .withRequestHandlers(s3ConnectionPoolMetrics.timeoutHandler())
+                .build();
+    }
+
+    // Non-blocking client backed by Netty, only created when storage.client=async on the S3 backend
+    @Bean(destroyMethod = "close")
+    @Conditional(NonBlockingStorageCondition.class)
+    public S3AsyncClient s3AsyncClient() {
+        return S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(software.amazon.awssdk.auth.credentials.InstanceProfileCredentialsProvider.create())
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(asyncMaxConcurrency)
+                        .connectionAcquisitionTimeout(asyncAcquisitionTimeout))
                 .build();
     }
-}
\ No newline at end of file
+}
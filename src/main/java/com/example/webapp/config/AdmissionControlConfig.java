@@ -0,0 +1,84 @@
+package com.example.webapp.config;
+
+import com.example.webapp.admission.AdmissionControlFilter;
+import com.example.webapp.admission.ClientRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Registers {@link AdmissionControlFilter} for the /v1 endpoints when
+ * admission.enabled=true. Per-client token buckets are added on top with
+ * admission.client-rate.enabled=true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlConfig.class);
+
+    @Value("${admission.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${admission.min-limit:2}")
+    private int minLimit;
+
+    @Value("${admission.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${admission.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${admission.latency-tolerance:2.0}")
+    private double latencyTolerance;
+
+    @Value("${admission.size-bound-endpoints:upload,content}")
+    private List<String> sizeBoundEndpoints;
+
+    @Value("${admission.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Value("${admission.client-rate.trusted-proxies:1}")
+    private int trustedProxies;
+
+    @Value("${admission.client-rate.enabled:false}")
+    private boolean clientRateEnabled;
+
+    @Value("${admission.client-rate.per-second:50}")
+    private double clientRatePerSecond;
+
+    @Value("${admission.client-rate.burst:100}")
+    private int clientRateBurst;
+
+    @Value("${admission.client-rate.stripes:4096}")
+    private int clientRateStripes;
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(MeterRegistry meterRegistry) {
+        ClientRateLimiter clientRateLimiter = clientRateEnabled
+                ? new ClientRateLimiter(clientRatePerSecond, clientRateBurst, clientRateStripes)
+                : null;
+        AdmissionControlFilter filter = new AdmissionControlFilter(meterRegistry,
+                new AdmissionControlFilter.Settings(initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance,
+                        Set.copyOf(sizeBoundEndpoints), retryAfter, trustedProxies),
+                clientRateLimiter);
+
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/v1/*");
+        // Ahead of everything else so a shed request does no further work
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        logger.info("Admission control enabled: limit={} [{}..{}], backoffRatio={}, latencyTolerance={}, clientRate={}",
+                initialLimit, minLimit, maxLimit, backoffRatio, latencyTolerance,
+                clientRateEnabled ? clientRatePerSecond + "/s burst " + clientRateBurst : "off");
+        return registration;
+    }
+}
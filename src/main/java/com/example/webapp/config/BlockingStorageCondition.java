@@ -0,0 +1,19 @@
+package com.example.webapp.config;
+
+import org.springframework.boot.autoconfigure.condition.NoneNestedConditions;
+import org.springframework.context.annotation.Conditional;
+
+/**
+ * Inverse of {@link NonBlockingStorageCondition}: uploads are stored on the
+ * request thread.
+ */
+public class BlockingStorageCondition extends NoneNestedConditions {
+
+    BlockingStorageCondition() {
+        super(ConfigurationPhase.REGISTER_BEAN);
+    }
+
+    @Conditional(NonBlockingStorageCondition.class)
+    static class NonBlocking {
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.webapp.config;
+
+import com.example.webapp.admission.Bulkhead;
+import com.example.webapp.admission.BulkheadFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulkheads per kind of work, enabled with bulkhead.enabled=true. Each kind
+ * has bulkhead.<kind>.max-concurrent, max-queued and max-wait. Streamed
+ * downloads also get their own bounded executor instead of the shared
+ * application task executor.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bulkhead.enabled", havingValue = "true")
+public class BulkheadConfig implements WebMvcConfigurer {
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadConfig.class);
+
+    private static final String[] WORK_TYPES = {"upload", "read", "download", "delete", "health"};
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private VirtualThreadConfig virtualThreadConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bulkhead.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int servletThreads;
+
+    private final List<Bulkhead> bulkheads = new ArrayList<>();
+    private ThreadPoolTaskExecutor downloadExecutor;
+
+    @PostConstruct
+    public void init() {
+        int servletFootprint = 0;
+        for (String workType : WORK_TYPES) {
+            String prefix = "bulkhead." + workType + ".";
+            Bulkhead bulkhead = new Bulkhead(workType,
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, 20),
+                    environment.getProperty(prefix + "max-queued", Integer.class, 0),
+                    environment.getProperty(prefix + "max-wait", Duration.class, Duration.ofMillis(100)));
+            bulkheads.add(bulkhead);
+            // Downloads stream on the async executor, so only their short dispatch uses a servlet thread
+            if (!"download".equals(workType)) {
+                servletFootprint += bulkhead.getMaxConcurrent() + bulkhead.getMaxQueued();
+            }
+        }
+        if (servletFootprint > servletThreads) {
+            logger.warn("Bulkheads can hold {} servlet threads but Tomcat has {}; one kind of work can still starve the rest",
+                    servletFootprint, servletThreads);
+        }
+
+        int downloads = bulkheads.stream()
+                .filter(bulkhead -> "download".equals(bulkhead.getName()))
+                .findFirst().orElseThrow()
+                .getMaxConcurrent();
+        downloadExecutor = new ThreadPoolTaskExecutor();
+        downloadExecutor.setCorePoolSize(downloads);
+        downloadExecutor.setMaxPoolSize(downloads);
+        // The download bulkhead already caps concurrent streams at the pool size
+        downloadExecutor.setQueueCapacity(downloads);
+        downloadExecutor.setThreadFactory(virtualThreadConfig.threadFactory("mvc-download-"));
+        downloadExecutor.initialize();
+        Gauge.builder("bulkhead.download.executor.active", downloadExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        downloadExecutor.shutdown();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(downloadExecutor);
+    }
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter() {
+        FilterRegistrationBean<BulkheadFilter> registration =
+                new FilterRegistrationBean<>(new BulkheadFilter(meterRegistry, bulkheads, retryAfter));
+        registration.addUrlPatterns("/v1/*", "/healthz");
+        // Right after admission control, so shed requests never wait in a bulkhead queue
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.webapp.config;
 
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.statsd.StatsdConfig;
 import io.micrometer.statsd.StatsdFlavor;
 import io.micrometer.statsd.StatsdMeterRegistry;
@@ -8,9 +11,20 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.time.Duration;
+
 @Configuration
 public class MetricsConfig {
 
+    // Connection acquire timers for the JDBC and S3 HTTP pools, published with percentiles and a histogram
+    private static final String[] ACQUIRE_TIMERS = {"hikaricp.connections.acquire", "s3.http.connections.acquire"};
+
+    // Fixed histogram buckets, so each acquire timer adds a bounded number of series
+    private static final double[] ACQUIRE_BUCKETS_NANOS = {
+            Duration.ofMillis(1).toNanos(), Duration.ofMillis(5).toNanos(), Duration.ofMillis(10).toNanos(),
+            Duration.ofMillis(50).toNanos(), Duration.ofMillis(100).toNanos(), Duration.ofMillis(500).toNanos(),
+            Duration.ofSeconds(1).toNanos(), Duration.ofSeconds(10).toNanos()};
+
     @Value("${metrics.statsd.enabled:true}")
     private boolean statsdEnabled;
 
@@ -50,8 +64,28 @@ public class MetricsConfig {
                 }
             };
 
-            return new StatsdMeterRegistry(config, io.micrometer.core.instrument.Clock.SYSTEM);
+            StatsdMeterRegistry registry = new StatsdMeterRegistry(config, io.micrometer.core.instrument.Clock.SYSTEM);
+            registry.config().meterFilter(acquireTimeHistograms());
+            return registry;
         }
         return null;
     }
-}
\ No newline at end of file
+
+    private static MeterFilter acquireTimeHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                for (String name : ACQUIRE_TIMERS) {
+                    if (id.getName().equals(name)) {
+                        return DistributionStatisticConfig.builder()
+                                .percentiles(0.5, 0.95, 0.99)
+                                .serviceLevelObjectives(ACQUIRE_BUCKETS_NANOS)
+                                .build()
+                                .merge(config);
+                    }
+                }
+                return config;
+            }
+        };
+    }
+}
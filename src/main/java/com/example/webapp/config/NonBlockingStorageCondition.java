@@ -0,0 +1,23 @@
+package com.example.webapp.config;
+
+import org.springframework.boot.autoconfigure.condition.AllNestedConditions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * Matches when uploads go through the non-blocking SDK v2 client: it is
+ * selected with storage.client=async and only applies to the S3 backend.
+ */
+public class NonBlockingStorageCondition extends AllNestedConditions {
+
+    NonBlockingStorageCondition() {
+        super(ConfigurationPhase.REGISTER_BEAN);
+    }
+
+    @ConditionalOnProperty(name = "storage.client", havingValue = "async")
+    static class AsyncClient {
+    }
+
+    @ConditionalOnProperty(name = "storage.backend", havingValue = "s3", matchIfMissing = true)
+    static class S3Backend {
+    }
+}
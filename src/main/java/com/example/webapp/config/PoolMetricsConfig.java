@@ -0,0 +1,34 @@
+package com.example.webapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes HikariCP pool metrics (hikaricp.connections.active, idle, pending,
+ * acquire, usage, timeout) to the app's registry. Without the actuator this is
+ * not wired automatically, and the tracker must be set before the pool starts.
+ */
+@Configuration
+public class PoolMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor hikariMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null) {
+                    MeterRegistry registry = meterRegistry.getIfAvailable();
+                    if (registry != null) {
+                        hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
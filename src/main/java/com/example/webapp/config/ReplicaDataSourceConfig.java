@@ -0,0 +1,85 @@
+package com.example.webapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with a {@link ReplicaRoutingDataSource}
+ * when datasource.replica.urls lists one or more read replicas. The primary
+ * keeps the spring.datasource.* settings; replicas reuse its credentials unless
+ * datasource.replica.username/password are set.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.urls")
+public class ReplicaDataSourceConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSourceConfig.class);
+
+    @Value("${datasource.replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${datasource.replica.max-lag:5s}")
+    private Duration maxLag;
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        }
+
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(name);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            // A replica that is down at startup is skipped until it answers a lag check
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, replica));
+        }
+
+        // These pools are not beans, so PoolMetricsConfig does not see them
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.forEach(replica -> replica.dataSource().setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        }
+
+        logger.info("Routing read-only queries to {} replica(s) with maxLag={}", replicas.size(), maxLag);
+        return new ReplicaRoutingDataSource(primary, replicas, maxLag);
+    }
+}
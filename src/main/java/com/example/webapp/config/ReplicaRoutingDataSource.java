@@ -0,0 +1,127 @@
+package com.example.webapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections to the primary unless the calling thread is inside a
+ * replica read scope (see ReadReplicaRouter), in which case the replica chosen
+ * for that scope serves it. Replicas that are unreachable or further behind
+ * than the allowed lag are skipped, falling back to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<String> currentTarget = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<Replica> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicas) {
+            targets.put(replica.name(), replica.dataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    /**
+     * The target serving the calling thread's connections: a replica name
+     * inside a replica read scope, otherwise {@link #PRIMARY}.
+     */
+    public static String currentTarget() {
+        String target = currentTarget.get();
+        return target != null ? target : PRIMARY;
+    }
+
+    public static void setCurrentTarget(String target) {
+        if (target == null) {
+            currentTarget.remove();
+        } else {
+            currentTarget.set(target);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentTarget();
+    }
+
+    /**
+     * Picks the next eligible replica round-robin, or null when none is
+     * healthy and within the allowed lag.
+     */
+    public Replica chooseReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isEligible(maxLag)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource().close());
+        primary.close();
+    }
+
+    public static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        // Replication lag in seconds from the last check; -1 when unknown or unreachable
+        private volatile long lagSeconds = -1;
+
+        public Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        public long getLagSeconds() {
+            return lagSeconds;
+        }
+
+        public void setLagSeconds(long lagSeconds) {
+            this.lagSeconds = lagSeconds;
+        }
+
+        boolean isEligible(Duration maxLag) {
+            long lag = lagSeconds;
+            return lag >= 0 && lag <= maxLag.toSeconds();
+        }
+    }
+}
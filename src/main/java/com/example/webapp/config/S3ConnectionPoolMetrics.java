@@ -0,0 +1,111 @@
+package com.example.webapp.config;
+
+import com.amazonaws.handlers.HandlerAfterAttemptContext;
+import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.metrics.AwsSdkMetrics;
+import com.amazonaws.metrics.ByteThroughputProvider;
+import com.amazonaws.metrics.MetricCollector;
+import com.amazonaws.metrics.RequestMetricCollector;
+import com.amazonaws.metrics.ServiceLatencyProvider;
+import com.amazonaws.metrics.ServiceMetricCollector;
+import com.amazonaws.util.AWSServiceMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Telemetry for the S3 client's HTTP connection pool: lease (acquire) time and
+ * lease timeouts, both taken from public SDK hooks. Acquire times come from the
+ * SDK's service metric hook, which is process-wide; this app builds a single
+ * SDK v1 client, so they all belong to its pool. The pool itself is private to
+ * the SDK, so its occupancy is not published and its size is fixed by
+ * s3.http.max-connections.
+ */
+@Component
+public class S3ConnectionPoolMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer acquireTimer;
+    private Counter timeouts;
+
+    @PostConstruct
+    public void init() {
+        acquireTimer = Timer.builder("s3.http.connections.acquire")
+                .description("Time spent waiting to lease a connection from the S3 HTTP pool")
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+        timeouts = Counter.builder("s3.http.connections.timeout")
+                .description("S3 attempts that timed out waiting for a pooled connection")
+                .register(meterRegistry);
+
+        AwsSdkMetrics.setMetricCollector(new AcquireTimeCollector());
+    }
+
+    /**
+     * Request handler that counts attempts failing on a pool lease timeout.
+     */
+    public RequestHandler2 timeoutHandler() {
+        return new RequestHandler2() {
+            @Override
+            public void afterAttempt(HandlerAfterAttemptContext context) {
+                for (Throwable e = context.getException(); e != null; e = e.getCause()) {
+                    if (e instanceof ConnectionPoolTimeoutException) {
+                        timeouts.increment();
+                        return;
+                    }
+                }
+            }
+        };
+    }
+
+    private final class AcquireTimeCollector extends MetricCollector {
+        private final ServiceMetricCollector serviceMetrics = new ServiceMetricCollector() {
+            @Override
+            public void collectLatency(ServiceLatencyProvider provider) {
+                if (provider.getServiceMetricType() == AWSServiceMetrics.HttpClientGetConnectionTime) {
+                    acquireTimer.record((long) (provider.getDurationMilli() * 1_000_000), TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public void collectByteThroughput(ByteThroughputProvider provider) {
+            }
+        };
+
+        @Override
+        public boolean start() {
+            return true;
+        }
+
+        @Override
+        public boolean stop() {
+            return true;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        // Per-request metrics stay off; only the service-level lease timing is collected
+        @Override
+        public RequestMetricCollector getRequestMetricCollector() {
+            return RequestMetricCollector.NONE;
+        }
+
+        @Override
+        public ServiceMetricCollector getServiceMetricCollector() {
+            return serviceMetrics;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.webapp.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in virtual-thread execution, enabled with spring.threads.virtual.enabled
+ * on a Java 21+ runtime. Tomcat then dispatches requests on virtual threads and
+ * the app's own bounded executors create virtual instead of platform threads.
+ * On Java 17 the property has no effect and everything stays on platform threads.
+ */
+@Configuration
+public class VirtualThreadConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicInteger activeVirtualThreads = new AtomicInteger();
+    private final AtomicLong startedVirtualThreads = new AtomicLong();
+    private boolean enabled;
+
+    @PostConstruct
+    public void init() {
+        enabled = Threading.VIRTUAL.isActive(environment);
+        if (!enabled) {
+            if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+                logger.warn("Virtual threads requested but runtime is Java {}, staying on platform threads",
+                        System.getProperty("java.specification.version"));
+            }
+            return;
+        }
+
+        Gauge.builder("jvm.threads.virtual.active", activeVirtualThreads, AtomicInteger::get)
+                .description("Live virtual threads started by Tomcat and the app executors")
+                .register(meterRegistry);
+        FunctionCounter.builder("jvm.threads.virtual.started", startedVirtualThreads, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("jvm.threads.virtual.carriers", this, config -> carrierParallelism())
+                .description("Carrier threads available to the virtual-thread scheduler")
+                .register(meterRegistry);
+        logger.info("Virtual threads enabled with {} carrier threads", carrierParallelism());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Thread factory for the app's bounded executors. Pool sizes and queue
+     * limits stay in force either way; only the kind of thread changes.
+     */
+    public ThreadFactory threadFactory(String prefix) {
+        if (!enabled) {
+            return new CustomizableThreadFactory(prefix);
+        }
+
+        ThreadFactory virtualThreads = new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        return task -> virtualThreads.newThread(() -> {
+            startedVirtualThreads.incrementAndGet();
+            activeVirtualThreads.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                activeVirtualThreads.decrementAndGet();
+            }
+        });
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadTomcatCustomizer() {
+        return new CountingTomcatExecutorCustomizer(threadFactory("tomcat-handler-"));
+    }
+
+    private static int carrierParallelism() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Replaces the virtual-thread executor Spring Boot installs on Tomcat with
+     * one that is counted. Runs last so it wins over Boot's own customizer.
+     */
+    private static class CountingTomcatExecutorCustomizer
+            implements WebServerFactoryCustomizer<TomcatServletWebServerFactory>, Ordered {
+
+        private final ThreadFactory threadFactory;
+
+        CountingTomcatExecutorCustomizer(ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+        }
+
+        @Override
+        public void customize(TomcatServletWebServerFactory factory) {
+            factory.addProtocolHandlerCustomizers(handler ->
+                    handler.setExecutor(command -> threadFactory.newThread(command).start()));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
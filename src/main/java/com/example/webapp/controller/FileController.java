@@ -1,17 +1,32 @@
 package com.example.webapp.controller;
 
 import com.example.webapp.model.File;
+import com.example.webapp.model.FilePage;
+import com.example.webapp.model.FileStatus;
+import com.example.webapp.model.PresignedUpload;
 import com.example.webapp.service.FileService;
-import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -20,36 +35,67 @@ import java.util.Optional;
 public class FileController {
     private static final Logger logger = LoggerFactory.getLogger(FileController.class);
 
+    private static final int MAX_BATCH_DELETE_IDS = 1000;
+
     @Autowired
     private FileService fileService;
 
-    @PostMapping("/file")
-    public ResponseEntity<Map<String, Object>> uploadFile(
-            @RequestParam("profilePic") MultipartFile file,
-            HttpServletRequest request
-    ) {
-        logger.info("POST /v1/file - Received file upload request");
-        try {
-            if (file == null || file.isEmpty()) {
-                logger.warn("POST /v1/file - File is empty or not provided");
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(Map.of("error", "File is empty or not provided"));
-            }
+    @Value("${file.list.default-page-size:20}")
+    private int defaultPageSize;
 
-            File savedFile = fileService.uploadFile(file);
-            logger.info("POST /v1/file - File uploaded successfully with ID: {}", savedFile.getId());
+    @Value("${file.list.max-page-size:100}")
+    private int maxPageSize;
+
+    @PostMapping("/file/upload-url")
+    public ResponseEntity<Map<String, Object>> createUploadUrl(@RequestBody Map<String, Object> body) {
+        logger.info("POST /v1/file/upload-url - Received presigned upload request");
+        Object fileName = body.get("file_name");
+        if (!(fileName instanceof String) || ((String) fileName).isBlank()) {
+            logger.warn("POST /v1/file/upload-url - File name is empty or not provided");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "File name is required"));
+        }
+
+        try {
+            Object contentType = body.get("content_type");
+            PresignedUpload upload = fileService.createPresignedUpload(
+                    (String) fileName, contentType instanceof String ? (String) contentType : null);
 
             Map<String, Object> response = new HashMap<>();
-            response.put("file_name", savedFile.getFileName());
-            response.put("id", savedFile.getId());
-            response.put("url", savedFile.getUrl());
-            response.put("upload_date", savedFile.getUploadDate().toString());
+            response.put("key", upload.key());
+            response.put("upload_url", upload.uploadUrl());
+            response.put("expires_at", upload.expiresAt().toString());
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (Exception e) {
+            logger.error("POST /v1/file/upload-url - Failed to create upload URL: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "Could not create upload URL", "details", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/file/commit")
+    public ResponseEntity<Map<String, Object>> commitUpload(@RequestBody Map<String, Object> body) {
+        logger.info("POST /v1/file/commit - Received upload commit request");
+        Object key = body.get("key");
+        Object size = body.get("size");
+        if (!(key instanceof String) || !(size instanceof Number)) {
+            logger.warn("POST /v1/file/commit - Key or size not provided");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "Key and size are required"));
+        }
+
+        try {
+            File savedFile = fileService.commitUpload((String) key, ((Number) size).longValue());
+            logger.info("POST /v1/file/commit - File committed successfully with ID: {}", savedFile.getId());
+
+            Map<String, Object> response = FileResponses.of(savedFile);
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception e) {
-            logger.error("POST /v1/file - File upload failed: {}", e.getMessage(), e);
+            logger.warn("POST /v1/file/commit - Commit failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of("error", "File upload failed", "details", e.getMessage()));
+                    .body(Map.of("error", "File commit failed", "details", e.getMessage()));
         }
     }
 
@@ -62,11 +108,7 @@ public class FileController {
             File file = fileOpt.get();
             logger.info("GET /v1/file/{} - File found and returning information", id);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("file_name", file.getFileName());
-            response.put("id", file.getId());
-            response.put("url", file.getUrl());
-            response.put("upload_date", file.getUploadDate().toString());
+            Map<String, Object> response = FileResponses.of(file);
 
             return ResponseEntity.ok(response);
         } else {
@@ -75,6 +117,140 @@ public class FileController {
         }
     }
 
+    /**
+     * Streams the stored body. A single byte range is honoured with 206, unless
+     * If-Range carries a different validator; multiple ranges get the full body.
+     * The body is copied to the response in fixed-size chunks, never held whole.
+     */
+    @GetMapping("/file/{id}/content")
+    public ResponseEntity<?> getFileContent(@PathVariable String id, @RequestHeader HttpHeaders requestHeaders) {
+        logger.info("GET /v1/file/{}/content - Streaming file content", id);
+        Optional<File> fileOpt = fileService.getFile(id);
+        if (fileOpt.isEmpty()) {
+            logger.warn("GET /v1/file/{}/content - File not found", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        File file = fileOpt.get();
+        if (file.getStatus() != FileStatus.AVAILABLE) {
+            logger.warn("GET /v1/file/{}/content - File is {}", id, file.getStatus());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "File content is not available", "status", file.getStatus().name()));
+        }
+
+        long length;
+        try {
+            length = fileService.getContentLength(file);
+        } catch (Exception e) {
+            logger.error("GET /v1/file/{}/content - Could not read stored object: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        if (length < 0) {
+            logger.warn("GET /v1/file/{}/content - Stored object is missing", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+
+        // Bodies are never rewritten under an id, so the id is a strong validator
+        String etag = "\"" + file.getId() + "\"";
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setETag(etag);
+        headers.setContentType(MediaTypeFactory.getMediaType(file.getOriginalFileName())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM));
+        headers.setContentDisposition(ContentDisposition.inline()
+                .filename(file.getOriginalFileName(), StandardCharsets.UTF_8)
+                .build());
+
+        long start = 0;
+        long count = length;
+        HttpStatus status = HttpStatus.OK;
+        HttpRange range = requestedRange(requestHeaders, etag);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                long end = range.getRangeEnd(length);
+                count = end - start + 1;
+                status = HttpStatus.PARTIAL_CONTENT;
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            } catch (IllegalArgumentException e) {
+                logger.warn("GET /v1/file/{}/content - Unsatisfiable range {}", id, range);
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+            }
+        }
+        headers.setContentLength(count);
+
+        long position = start;
+        long bytes = count;
+        StreamingResponseBody body = out -> {
+            if (bytes > 0) {
+                fileService.writeContent(file, position, bytes, Channels.newChannel(out));
+            }
+        };
+        return new ResponseEntity<>(body, headers, status);
+    }
+
+    private HttpRange requestedRange(HttpHeaders requestHeaders, String etag) {
+        String rangeHeader = requestHeaders.getFirst(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        // A different If-Range validator means the client's partial copy is stale
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            // Malformed ranges are ignored and the full body is sent
+            return null;
+        }
+    }
+
+    @GetMapping("/files")
+    public ResponseEntity<Map<String, Object>> listFiles(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        logger.info("GET /v1/files - Listing files");
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            logger.warn("GET /v1/files - Invalid page size: {}", pageSize);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "limit must be between 1 and " + maxPageSize));
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            logger.warn("GET /v1/files - Invalid date range: {} to {}", from, to);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "from must not be after to"));
+        }
+
+        try {
+            FilePage page = fileService.listFiles(from, to, cursor, pageSize);
+            List<Map<String, Object>> files = new ArrayList<>(page.files().size());
+            page.files().forEach(file -> files.add(FileResponses.of(file)));
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("files", files);
+            if (page.nextCursor() != null) {
+                response.put("next_cursor", page.nextCursor());
+            }
+            logger.info("GET /v1/files - Returning {} files", files.size());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            if ("Invalid cursor".equals(e.getMessage())) {
+                logger.warn("GET /v1/files - Invalid cursor");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", "Invalid cursor"));
+            }
+            logger.error("GET /v1/files - Internal server error: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/file")
     public ResponseEntity<Map<String, Object>> getFileWithoutId() {
         logger.warn("GET /v1/file - Request received without file ID");
@@ -100,6 +276,42 @@ public class FileController {
         }
     }
 
+    @PostMapping("/file/batch-delete")
+    public ResponseEntity<Map<String, Object>> deleteFiles(@RequestBody Map<String, Object> body) {
+        Object ids = body.get("ids");
+        if (!(ids instanceof List) || ((List<?>) ids).isEmpty()) {
+            logger.warn("POST /v1/file/batch-delete - No file IDs provided");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "File IDs are required"));
+        }
+
+        LinkedHashSet<String> uniqueIds = new LinkedHashSet<>();
+        for (Object id : (List<?>) ids) {
+            if (!(id instanceof String)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(Map.of("error", "File IDs must be strings"));
+            }
+            uniqueIds.add((String) id);
+        }
+        if (uniqueIds.size() > MAX_BATCH_DELETE_IDS) {
+            logger.warn("POST /v1/file/batch-delete - {} IDs exceeds the limit", uniqueIds.size());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "At most " + MAX_BATCH_DELETE_IDS + " file IDs are allowed"));
+        }
+
+        logger.info("POST /v1/file/batch-delete - Attempting to delete {} files", uniqueIds.size());
+        try {
+            Map<String, String> outcomes = fileService.deleteFiles(uniqueIds);
+
+            List<Map<String, Object>> results = new ArrayList<>(outcomes.size());
+            outcomes.forEach((id, status) -> results.add(Map.of("id", id, "status", status)));
+            return ResponseEntity.ok(Map.of("results", results));
+        } catch (Exception e) {
+            logger.error("POST /v1/file/batch-delete - Internal server error: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @DeleteMapping("/file")
     public ResponseEntity<Map<String, Object>> deleteFileWithoutId() {
         logger.warn("DELETE /v1/file - Request received without file ID");
@@ -168,4 +380,4 @@ public class FileController {
         logger.info("GET /v1/file/test - Testing file endpoint");
         return ResponseEntity.ok("File endpoint is working!");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package com.example.webapp.controller;
+
+import com.example.webapp.model.File;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// JSON body of a file row, shared by the file and upload controllers
+final class FileResponses {
+
+    private FileResponses() {
+    }
+
+    static Map<String, Object> of(File file) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("file_name", file.getFileName());
+        response.put("id", file.getId().toString());
+        response.put("url", file.getUrl());
+        response.put("upload_date", file.getUploadDate().toString());
+        response.put("status", file.getStatus().name());
+        return response;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.webapp.controller;
+
+import com.example.webapp.config.BlockingStorageCondition;
+import com.example.webapp.model.File;
+import com.example.webapp.service.FileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * POST /v1/file with the blocking storage client: the body is stored on the
+ * request thread. See {@link NonBlockingFileUploadController} for storage.client=async.
+ */
+@RestController
+@RequestMapping("/v1")
+@Conditional(BlockingStorageCondition.class)
+public class FileUploadController {
+    private static final Logger logger = LoggerFactory.getLogger(FileUploadController.class);
+
+    @Autowired
+    private FileService fileService;
+
+    @PostMapping("/file")
+    public ResponseEntity<Map<String, Object>> uploadFile(
+            @RequestParam("profilePic") MultipartFile file,
+            @RequestParam(value = "async", defaultValue = "false") boolean async
+    ) {
+        logger.info("POST /v1/file - Received file upload request");
+        try {
+            if (file == null || file.isEmpty()) {
+                logger.warn("POST /v1/file - File is empty or not provided");
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(Map.of("error", "File is empty or not provided"));
+            }
+
+            if (async) {
+                File pendingFile = fileService.submitUpload(file);
+                logger.info("POST /v1/file - File accepted for async upload with ID: {}", pendingFile.getId());
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .location(URI.create("/v1/file/" + pendingFile.getId()))
+                        .body(FileResponses.of(pendingFile));
+            }
+
+            File savedFile = fileService.uploadFile(file);
+            logger.info("POST /v1/file - File uploaded successfully with ID: {}", savedFile.getId());
+
+            Map<String, Object> response = FileResponses.of(savedFile);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RejectedExecutionException e) {
+            logger.warn("POST /v1/file - Async upload queue is full");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Upload queue is full, retry later"));
+        } catch (Exception e) {
+            logger.error("POST /v1/file - File upload failed: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "File upload failed", "details", e.getMessage()));
+        }
+    }
+}
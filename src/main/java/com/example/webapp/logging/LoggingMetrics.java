@@ -0,0 +1,68 @@
+package com.example.webapp.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Publishes each async log pipeline's queue depth, enqueued and dropped events,
+ * and events removed by sampling, as configured in logback-spring.xml.
+ */
+@Component
+public class LoggingMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(LoggingMetrics.class);
+
+    // Async appender names in logback-spring.xml and the tag their metrics carry
+    static final Map<String, String> ASYNC_APPENDERS = Map.of("ASYNC_FILE", "file", "ASYNC_CONSOLE", "console");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void bind() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!(loggerFactory instanceof LoggerContext)) {
+            return;
+        }
+        LoggerContext context = (LoggerContext) loggerFactory;
+
+        for (Map.Entry<String, String> entry : ASYNC_APPENDERS.entrySet()) {
+            Appender<ILoggingEvent> appender = context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(entry.getKey());
+            if (appender instanceof MeteredAsyncAppender) {
+                MeteredAsyncAppender async = (MeteredAsyncAppender) appender;
+                Gauge.builder("logging.async.queued", async, MeteredAsyncAppender::getNumberOfElementsInQueue)
+                        .description("Log events waiting in the ring buffer")
+                        .tag("appender", entry.getValue())
+                        .register(meterRegistry);
+                FunctionCounter.builder("logging.async.enqueued", async, MeteredAsyncAppender::getEnqueuedCount)
+                        .tag("appender", entry.getValue())
+                        .register(meterRegistry);
+                FunctionCounter.builder("logging.async.dropped", async, MeteredAsyncAppender::getDroppedCount)
+                        .tag("appender", entry.getValue())
+                        .register(meterRegistry);
+            } else {
+                logger.warn("Async log appender {} not found, its pipeline metrics are disabled", entry.getKey());
+            }
+        }
+
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof SamplingTurboFilter) {
+                FunctionCounter.builder("logging.sampled.out", (SamplingTurboFilter) filter,
+                                SamplingTurboFilter::getSampledOutCount)
+                        .register(meterRegistry);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.webapp.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts what it queues and what it drops. Events are
+ * dropped when the ring buffer is below the discarding threshold (INFO and
+ * below only) or, with neverBlock, when it is full. The full-buffer check runs
+ * just before the offer, so under heavy contention the drop count is a lower bound.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if ((remaining < getDiscardingThreshold() && isDiscardable(event)) || (isNeverBlock() && remaining == 0)) {
+            dropped.increment();
+            return;
+        }
+        super.append(event);
+        enqueued.increment();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.webapp.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps one in N INFO-or-lower events for the configured loggers, e.g.
+ * {@code <sample>com.example.webapp.aspect.S3MetricsAspect=100</sample>}.
+ * WARN and ERROR events are never sampled out.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final Map<String, Sampler> samplers = new HashMap<>();
+    private final LongAdder sampledOut = new LongAdder();
+
+    public void addSample(String spec) {
+        int separator = spec.lastIndexOf('=');
+        if (separator <= 0) {
+            addError("Invalid sample '" + spec + "', expected <logger>=<rate>");
+            return;
+        }
+        int rate = Integer.parseInt(spec.substring(separator + 1).trim());
+        if (rate > 1) {
+            samplers.put(spec.substring(0, separator).trim(), new Sampler(rate));
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks, which must not consume a sample
+        if (format == null || level == null || level.toInt() > Level.INFO_INT) {
+            return FilterReply.NEUTRAL;
+        }
+        Sampler sampler = samplers.get(logger.getName());
+        if (sampler == null || sampler.keep()) {
+            return FilterReply.NEUTRAL;
+        }
+        sampledOut.increment();
+        return FilterReply.DENY;
+    }
+
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    private static final class Sampler {
+        private final int rate;
+        private final AtomicLong seen = new AtomicLong();
+
+        private Sampler(int rate) {
+            this.rate = rate;
+        }
+
+        private boolean keep() {
+            return seen.getAndIncrement() % rate == 0;
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package com.example.webapp.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "file")
+@Table(name = "file", indexes = {
+        // Serves the keyset-paginated listing, newest first
+        @Index(name = "idx_file_upload_date_id", columnList = "upload_date, id"),
+        // Lets the PENDING upload sweeper find unsettled rows without a scan
+        @Index(name = "idx_file_status", columnList = "status")
+})
 public class File {
+    // Time-ordered UUIDv7 as BINARY(16); the API renders the canonical string form
     @Id
-    @Column(length = 36)
-    private String id;
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
+    private UUID id;
 
     @Column(name = "file_name", nullable = false)
     private String fileName;
@@ -20,20 +30,33 @@ public class File {
     @Column(nullable = false)
     private String url;
 
+    // Object key in the storage backend; null for rows written before it was recorded and for shared dedup objects
+    @Column(name = "storage_key", length = 512, unique = true)
+    private String storageKey;
+
     @Column(name = "upload_date", nullable = false)
     private LocalDate uploadDate;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private FileStatus status;
+
+    // SHA-256 of the body, set only for uploads stored with dedup enabled
+    @Column(length = 64)
+    private String digest;
+
     public File() {
-        this.id = UUID.randomUUID().toString();
+        this.id = UuidV7.generate();
         this.uploadDate = LocalDate.now();
+        this.status = FileStatus.AVAILABLE;
     }
 
     // Getters and Setters
-    public String getId() {
+    public UUID getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(UUID id) {
         this.id = id;
     }
 
@@ -61,6 +84,14 @@ public class File {
         this.url = url;
     }
 
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
     public LocalDate getUploadDate() {
         return uploadDate;
     }
@@ -68,4 +99,21 @@ public class File {
     public void setUploadDate(LocalDate uploadDate) {
         this.uploadDate = uploadDate;
     }
-}
\ No newline at end of file
+
+    public FileStatus getStatus() {
+        // Rows written before the status column existed were always fully uploaded
+        return status == null ? FileStatus.AVAILABLE : status;
+    }
+
+    public void setStatus(FileStatus status) {
+        this.status = status;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public void setDigest(String digest) {
+        this.digest = digest;
+    }
+}
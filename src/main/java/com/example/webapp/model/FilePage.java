@@ -0,0 +1,9 @@
+package com.example.webapp.model;
+
+import java.util.List;
+
+/**
+ * One page of the file listing. {@code nextCursor} is null on the last page.
+ */
+public record FilePage(List<File> files, String nextCursor) {
+}
@@ -0,0 +1,32 @@
+package com.example.webapp.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "health_check_rollup")
+public class HealthCheckRollup {
+
+    @Id
+    @Column(name = "minute_start")
+    private LocalDateTime minuteStart;
+
+    @Column(name = "probe_count", nullable = false)
+    private long probeCount;
+
+    public LocalDateTime getMinuteStart() {
+        return minuteStart;
+    }
+
+    public void setMinuteStart(LocalDateTime minuteStart) {
+        this.minuteStart = minuteStart;
+    }
+
+    public long getProbeCount() {
+        return probeCount;
+    }
+
+    public void setProbeCount(long probeCount) {
+        this.probeCount = probeCount;
+    }
+}
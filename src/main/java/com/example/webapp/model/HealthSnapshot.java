@@ -0,0 +1,19 @@
+package com.example.webapp.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Result of one background health probe round. Replaced as a whole after each
+ * round, so readers always see a consistent pair of results.
+ */
+public record HealthSnapshot(boolean databaseUp, boolean storageUp, Instant checkedAt) {
+
+    public boolean isHealthy() {
+        return databaseUp && storageUp;
+    }
+
+    public boolean isStale(Instant now, Duration maxAge) {
+        return checkedAt.plus(maxAge).isBefore(now);
+    }
+}
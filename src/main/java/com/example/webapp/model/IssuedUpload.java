@@ -0,0 +1,56 @@
+package com.example.webapp.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * A key handed out with a presigned upload URL. Only keys recorded here can be
+ * committed; the record is removed once its file row exists.
+ */
+@Entity
+@Table(name = "issued_upload")
+public class IssuedUpload {
+
+    @Id
+    @Column(name = "object_key", length = 512)
+    private String objectKey;
+
+    @Column(name = "original_file_name", nullable = false)
+    private String originalFileName;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public IssuedUpload() {
+    }
+
+    public IssuedUpload(String objectKey, String originalFileName, Instant expiresAt) {
+        this.objectKey = objectKey;
+        this.originalFileName = originalFileName;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getObjectKey() {
+        return objectKey;
+    }
+
+    public void setObjectKey(String objectKey) {
+        this.objectKey = objectKey;
+    }
+
+    public String getOriginalFileName() {
+        return originalFileName;
+    }
+
+    public void setOriginalFileName(String originalFileName) {
+        this.originalFileName = originalFileName;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
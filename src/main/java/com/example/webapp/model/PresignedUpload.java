@@ -0,0 +1,6 @@
+package com.example.webapp.model;
+
+import java.time.Instant;
+
+public record PresignedUpload(String key, String uploadUrl, Instant expiresAt) {
+}
@@ -0,0 +1,89 @@
+package com.example.webapp.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+@Entity
+@Table(name = "s3_deletion_outbox", indexes = {
+        @Index(name = "idx_s3_deletion_outbox_next_attempt", columnList = "next_attempt_at")
+})
+public class S3DeletionOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "object_url", nullable = false)
+    private String objectUrl;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Drain pass holding the entry until next_attempt_at; null when unclaimed
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    public S3DeletionOutbox() {
+    }
+
+    public S3DeletionOutbox(String objectUrl) {
+        this.objectUrl = objectUrl;
+        this.createdAt = LocalDateTime.now(ZoneOffset.UTC);
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getObjectUrl() {
+        return objectUrl;
+    }
+
+    public void setObjectUrl(String objectUrl) {
+        this.objectUrl = objectUrl;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.webapp.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A stored body shared by every file row with the same content digest. The
+ * object is deleted from storage when the last referencing row goes away.
+ * The digest is assigned, so new instances report themselves as new: saving
+ * one always INSERTs, and a digest recorded concurrently fails on the primary
+ * key instead of being merged over.
+ */
+@Entity
+@Table(name = "stored_object")
+public class StoredObject implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String digest;
+
+    @Column(nullable = false)
+    private String url;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Transient
+    private boolean isNew = true;
+
+    public StoredObject() {
+    }
+
+    public StoredObject(String digest, String url, long size) {
+        this.digest = digest;
+        this.url = url;
+        this.size = size;
+        this.refCount = 1;
+    }
+
+    @Override
+    public String getId() {
+        return digest;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+}
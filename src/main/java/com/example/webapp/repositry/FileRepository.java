@@ -1,9 +1,42 @@
 package com.example.webapp.repositry;
 
 import com.example.webapp.model.File;
+import com.example.webapp.model.FileStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface FileRepository extends JpaRepository<File, String> {
-}
\ No newline at end of file
+public interface FileRepository extends JpaRepository<File, UUID> {
+
+    Optional<File> findByStorageKey(String storageKey);
+
+    List<File> findByStatus(FileStatus status);
+
+    // Moves a row out of the expected status only, so concurrent sweepers settle it once
+    @Transactional
+    @Modifying
+    @Query("UPDATE File f SET f.status = :to WHERE f.id = :id AND f.status = :from")
+    int updateStatus(@Param("id") UUID id, @Param("from") FileStatus from, @Param("to") FileStatus to);
+
+    // First page of the listing; Pageable only carries the limit
+    @Query("SELECT f FROM File f WHERE f.uploadDate BETWEEN :from AND :to ORDER BY f.uploadDate DESC, f.id DESC")
+    List<File> findFirstPage(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable limit);
+
+    // Rows strictly after the (uploadDate, id) cursor, written so the range scan starts at the cursor
+    @Query("SELECT f FROM File f WHERE f.uploadDate BETWEEN :from AND :to"
+            + " AND (f.uploadDate < :afterDate OR (f.uploadDate = :afterDate AND f.id < :afterId))"
+            + " ORDER BY f.uploadDate DESC, f.id DESC")
+    List<File> findPageAfter(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                             @Param("afterDate") LocalDate afterDate, @Param("afterId") UUID afterId,
+                             Pageable limit);
+}
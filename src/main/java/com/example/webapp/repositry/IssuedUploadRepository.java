@@ -0,0 +1,9 @@
+package com.example.webapp.repositry;
+
+import com.example.webapp.model.IssuedUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IssuedUploadRepository extends JpaRepository<IssuedUpload, String> {
+}
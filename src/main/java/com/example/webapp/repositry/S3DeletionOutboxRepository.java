@@ -0,0 +1,41 @@
+package com.example.webapp.repositry;
+
+import com.example.webapp.model.S3DeletionOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface S3DeletionOutboxRepository extends JpaRepository<S3DeletionOutbox, Long> {
+
+    @Query("SELECT e.id FROM S3DeletionOutbox e WHERE e.nextAttemptAt <= :now ORDER BY e.id ASC")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable limit);
+
+    // Leases the entries that are still due to the token; ones another drainer claimed first no longer match
+    @Transactional
+    @Modifying
+    @Query("UPDATE S3DeletionOutbox e SET e.claimToken = :token, e.nextAttemptAt = :leaseUntil"
+            + " WHERE e.id IN :ids AND e.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    List<S3DeletionOutbox> findByClaimToken(String claimToken);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE S3DeletionOutbox e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt,"
+            + " e.claimToken = NULL WHERE e.id IN :ids AND e.claimToken = :token")
+    int reschedule(@Param("ids") Collection<Long> ids, @Param("token") String token,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    Optional<S3DeletionOutbox> findFirstByOrderByIdAsc();
+}
@@ -0,0 +1,25 @@
+package com.example.webapp.repositry;
+
+import com.example.webapp.model.StoredObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StoredObjectRepository extends JpaRepository<StoredObject, String> {
+
+    // Only live objects gain references; one at zero is about to be deleted
+    @Modifying
+    @Query("UPDATE StoredObject s SET s.refCount = s.refCount + 1 WHERE s.digest = :digest AND s.refCount > 0")
+    int incrementRefCount(@Param("digest") String digest);
+
+    @Modifying
+    @Query("UPDATE StoredObject s SET s.refCount = s.refCount - :count WHERE s.digest = :digest")
+    int decrementRefCount(@Param("digest") String digest, @Param("count") int count);
+
+    @Modifying
+    @Query("DELETE FROM StoredObject s WHERE s.digest = :digest AND s.refCount <= 0")
+    int deleteIfUnreferenced(@Param("digest") String digest);
+}
@@ -0,0 +1,200 @@
+package com.example.webapp.service;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Resizes the JDBC connection pool from its own telemetry. Every interval it
+ * compares the mean connection acquire wait with a target and the mean query
+ * latency with a moving baseline: callers queueing while the database is
+ * healthy grows the pool, a database slowing down shrinks it (more connections
+ * would only add to its queue), and a mostly idle pool shrinks back toward its
+ * minimum. The S3 SDK v1 client keeps its pool private, so that pool stays at
+ * s3.http.max-connections.
+ */
+@Service
+@ConditionalOnProperty(name = "pool.adaptive.enabled", havingValue = "true")
+public class AdaptivePoolSizer {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    // Weight of the newest interval in the latency baseline
+    private static final double BASELINE_ALPHA = 0.2;
+    private static final double IDLE_UTILIZATION = 0.5;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${pool.adaptive.interval:10s}")
+    private Duration interval;
+
+    @Value("${pool.adaptive.target-acquire-wait:5ms}")
+    private Duration targetAcquireWait;
+
+    @Value("${pool.adaptive.latency-tolerance:1.5}")
+    private double latencyTolerance;
+
+    @Value("${pool.adaptive.hikari.min-size:5}")
+    private int hikariMinSize;
+
+    @Value("${pool.adaptive.hikari.max-size:30}")
+    private int hikariMaxSize;
+
+    private final List<PoolController> pools = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        try {
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            pools.add(new PoolController("jdbc", hikariMinSize, hikariMaxSize,
+                    () -> meterRegistry.find("hikaricp.connections.acquire").timers(),
+                    () -> meterRegistry.find("hikaricp.connections.usage").timers(),
+                    () -> {
+                        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                        return pool == null ? 0 : pool.getActiveConnections();
+                    },
+                    () -> hikari.getHikariConfigMXBean().getMaximumPoolSize(),
+                    size -> {
+                        HikariConfigMXBean config = hikari.getHikariConfigMXBean();
+                        if (config.getMinimumIdle() > size) {
+                            config.setMinimumIdle(size);
+                        }
+                        config.setMaximumPoolSize(size);
+                    }));
+        } catch (Exception e) {
+            logger.warn("DataSource is not a HikariDataSource, JDBC pool will not be resized: {}", e.getMessage());
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("pool-sizer-"));
+        scheduler.scheduleWithFixedDelay(this::adjustSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Adaptive pool sizing enabled: pools={}, interval={}, targetAcquireWait={}, latencyTolerance={}",
+                pools.stream().map(pool -> pool.name).toList(), interval, targetAcquireWait, latencyTolerance);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void adjustSafely() {
+        for (PoolController pool : pools) {
+            try {
+                pool.adjust();
+            } catch (Exception e) {
+                logger.error("Adaptive sizing of {} pool failed: {}", pool.name, e.getMessage(), e);
+            }
+        }
+    }
+
+    private final class PoolController {
+        private final String name;
+        private final int minSize;
+        private final int maxSize;
+        private final Supplier<Collection<Timer>> acquireTimers;
+        private final Supplier<Collection<Timer>> latencyTimers;
+        private final Supplier<Integer> active;
+        private final Supplier<Integer> currentSize;
+        private final IntConsumer resize;
+
+        private final Map<Timer, long[]> lastSeen = new HashMap<>();
+        private double baselineLatencyNanos = Double.NaN;
+
+        private PoolController(String name, int minSize, int maxSize, Supplier<Collection<Timer>> acquireTimers,
+                               Supplier<Collection<Timer>> latencyTimers, Supplier<Integer> active,
+                               Supplier<Integer> currentSize, IntConsumer resize) {
+            this.name = name;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.acquireTimers = acquireTimers;
+            this.latencyTimers = latencyTimers;
+            this.active = active;
+            this.currentSize = currentSize;
+            this.resize = resize;
+        }
+
+        private void adjust() {
+            double waitNanos = meanSinceLastSeen(acquireTimers.get());
+            double latencyNanos = meanSinceLastSeen(latencyTimers.get());
+            int size = currentSize.get();
+            double utilization = size == 0 ? 0 : (double) active.get() / size;
+
+            boolean latencyDegraded = !Double.isNaN(latencyNanos) && !Double.isNaN(baselineLatencyNanos)
+                    && latencyNanos > baselineLatencyNanos * latencyTolerance;
+            boolean waiting = !Double.isNaN(waitNanos) && waitNanos > targetAcquireWait.toNanos();
+
+            int target = size;
+            if (latencyDegraded) {
+                target = size - 1;
+            } else if (waiting) {
+                target = size + Math.max(1, size / 4);
+            } else if (utilization < IDLE_UTILIZATION && (Double.isNaN(waitNanos) || waitNanos == 0)) {
+                target = size - 1;
+            }
+            target = Math.max(minSize, Math.min(maxSize, target));
+
+            // A degraded interval is not folded into the baseline, otherwise the baseline would chase the slowdown
+            if (!Double.isNaN(latencyNanos) && !latencyDegraded) {
+                baselineLatencyNanos = Double.isNaN(baselineLatencyNanos) ? latencyNanos
+                        : BASELINE_ALPHA * latencyNanos + (1 - BASELINE_ALPHA) * baselineLatencyNanos;
+            }
+
+            if (target != size) {
+                resize.accept(target);
+                logger.info("Resized {} pool {} -> {} (acquireWait={}ms, latency={}ms, baseline={}ms, utilization={})",
+                        name, size, target, millis(waitNanos), millis(latencyNanos), millis(baselineLatencyNanos),
+                        String.format("%.2f", utilization));
+            }
+        }
+
+        // Mean of the samples recorded across the timers since the previous call, NaN when there were none
+        private double meanSinceLastSeen(Collection<Timer> timers) {
+            long count = 0;
+            double totalNanos = 0;
+            for (Timer timer : timers) {
+                long timerCount = timer.count();
+                double timerTotal = timer.totalTime(TimeUnit.NANOSECONDS);
+                long[] previous = lastSeen.put(timer, new long[]{timerCount, (long) timerTotal});
+                if (previous != null) {
+                    count += timerCount - previous[0];
+                    totalNanos += timerTotal - previous[1];
+                } else {
+                    count += timerCount;
+                    totalNanos += timerTotal;
+                }
+            }
+            return count <= 0 ? Double.NaN : totalNanos / count;
+        }
+
+        private String millis(double nanos) {
+            return Double.isNaN(nanos) ? "-" : String.format("%.2f", nanos / 1_000_000);
+        }
+    }
+}
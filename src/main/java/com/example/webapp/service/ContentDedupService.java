@@ -0,0 +1,132 @@
+package com.example.webapp.service;
+
+import com.example.webapp.model.File;
+import com.example.webapp.model.S3DeletionOutbox;
+import com.example.webapp.model.StoredObject;
+import com.example.webapp.repositry.FileRepository;
+import com.example.webapp.repositry.S3DeletionOutboxRepository;
+import com.example.webapp.repositry.StoredObjectRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Reference-counted sharing of stored bodies between file rows with the same
+ * SHA-256 digest. Reference changes happen in the caller's transaction, and
+ * an object whose count reaches zero is queued on the deletion outbox.
+ */
+@Service
+public class ContentDedupService {
+    private static final Logger logger = LoggerFactory.getLogger(ContentDedupService.class);
+
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private StoredObjectRepository storedObjectRepository;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private S3DeletionOutboxRepository outboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter bytesSaved;
+
+    @PostConstruct
+    public void init() {
+        hits = Counter.builder("file.dedup.hits")
+                .description("Uploads that reused an already stored body")
+                .register(meterRegistry);
+        misses = Counter.builder("file.dedup.misses")
+                .description("Uploads whose body was stored for the first time")
+                .register(meterRegistry);
+        bytesSaved = Counter.builder("file.dedup.bytes.saved")
+                .baseUnit("bytes")
+                .description("Bytes not transferred to storage thanks to dedup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hashes the body in one pass through a fixed-size buffer.
+     */
+    public String digest(InputStream in) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Saves the row pointing at the already stored body for its digest, or
+     * returns empty if no live object has that digest.
+     */
+    @Transactional
+    public Optional<File> saveIfStored(File file, long size) {
+        if (storedObjectRepository.incrementRefCount(file.getDigest()) == 0) {
+            return Optional.empty();
+        }
+        StoredObject stored = storedObjectRepository.findById(file.getDigest()).orElseThrow();
+        file.setUrl(stored.getUrl());
+        // The shared object's key is derived from its URL when the content is read
+        file.setStorageKey(null);
+        File savedFile = fileRepository.save(file);
+
+        hits.increment();
+        bytesSaved.increment(size);
+        logger.info("Dedup hit for digest {}, file {} shares {}", file.getDigest(), savedFile.getId(), stored.getUrl());
+        return Optional.of(savedFile);
+    }
+
+    /**
+     * Records a newly stored body with one reference and saves the row. The
+     * object row is inserted (never merged), so if another upload recorded the
+     * digest first this throws DataIntegrityViolationException and nothing is
+     * written; the caller then shares that object and discards its own.
+     */
+    @Transactional
+    public File saveNewObject(File file, long size) {
+        storedObjectRepository.saveAndFlush(new StoredObject(file.getDigest(), file.getUrl(), size));
+        File savedFile = fileRepository.save(file);
+        misses.increment();
+        return savedFile;
+    }
+
+    /**
+     * Drops references to the digest's object and queues the object for
+     * deletion once none are left. Must run inside the row delete's transaction.
+     */
+    @Transactional
+    public void release(String digest, int references) {
+        storedObjectRepository.decrementRefCount(digest, references);
+        Optional<StoredObject> stored = storedObjectRepository.findById(digest);
+        if (stored.isPresent() && storedObjectRepository.deleteIfUnreferenced(digest) > 0) {
+            outboxRepository.save(new S3DeletionOutbox(stored.get().getUrl()));
+            logger.info("Last reference to digest {} released, deletion queued: {}", digest, stored.get().getUrl());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.webapp.service;
+
+import com.example.webapp.model.File;
+import com.example.webapp.model.FileStatus;
+import com.example.webapp.repositry.FileRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Size-bounded read-through cache for file metadata. Caffeine evicts with
+ * W-TinyLFU; misses and PENDING rows are only kept for the short negative TTL
+ * since they are the only entries whose answer can change.
+ * <p>
+ * The cache is per instance and a delete only invalidates the instance that
+ * served it, so other instances may keep returning a deleted file for up to
+ * file.cache.ttl. The TTL is kept in seconds for that reason.
+ */
+@Component
+public class FileMetadataCache {
+    private static final Logger logger = LoggerFactory.getLogger(FileMetadataCache.class);
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private ReadReplicaRouter readReplicaRouter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${file.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${file.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${file.cache.ttl:30s}")
+    private Duration ttl;
+
+    @Value("${file.cache.negative-ttl:5s}")
+    private Duration negativeTtl;
+
+    private LoadingCache<UUID, Optional<File>> cache;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            logger.info("File metadata cache disabled");
+            return;
+        }
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<UUID, Optional<File>>() {
+                    @Override
+                    public long expireAfterCreate(UUID id, Optional<File> file, long currentTime) {
+                        boolean settled = file.isPresent() && file.get().getStatus() != FileStatus.PENDING;
+                        return (settled ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(UUID id, Optional<File> file, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, file, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(UUID id, Optional<File> file, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build(this::load);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "file.metadata");
+        logger.info("File metadata cache initialized: maxSize={}, ttl={}, negativeTtl={}", maxSize, ttl, negativeTtl);
+    }
+
+    public Optional<File> get(UUID id) {
+        if (cache == null) {
+            return load(id);
+        }
+        return cache.get(id);
+    }
+
+    /**
+     * Reads from a replica when one is configured. A miss or a PENDING row may
+     * only mean the replica is behind a recent upload, so those are re-read
+     * from the primary before being cached.
+     */
+    private Optional<File> load(UUID id) {
+        return readReplicaRouter.read(() -> fileRepository.findById(id),
+                file -> file.isEmpty() || file.get().getStatus() == FileStatus.PENDING);
+    }
+
+    public void invalidate(UUID id) {
+        if (cache != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Invalidates once the surrounding transaction commits, so a concurrent
+     * read cannot re-cache the row before the delete is visible.
+     */
+    public void invalidateAfterCommit(UUID id) {
+        if (cache == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidate(id);
+            }
+        });
+    }
+}
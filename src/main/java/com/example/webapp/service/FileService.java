@@ -1,42 +1,203 @@
 package com.example.webapp.service;
 
+import com.example.webapp.config.VirtualThreadConfig;
 import com.example.webapp.model.File;
+import com.example.webapp.model.FilePage;
+import com.example.webapp.model.FileStatus;
+import com.example.webapp.model.IssuedUpload;
+import com.example.webapp.model.PresignedUpload;
+import com.example.webapp.model.S3DeletionOutbox;
+import com.example.webapp.model.UuidV7;
 import com.example.webapp.repositry.FileRepository;
+import com.example.webapp.repositry.IssuedUploadRepository;
+import com.example.webapp.repositry.S3DeletionOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class FileService {
     private static final Logger logger = LoggerFactory.getLogger(FileService.class);
 
+    // Bounds of MySQL's DATE type, used when a listing filter is left open
+    private static final LocalDate MIN_LIST_DATE = LocalDate.of(1000, 1, 1);
+    private static final LocalDate MAX_LIST_DATE = LocalDate.of(9999, 12, 31);
+
     @Autowired
     private FileRepository fileRepository;
 
     @Autowired
     private S3Service s3Service;
 
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private ContentDedupService contentDedupService;
+
+    @Autowired
+    private FileMetadataCache fileMetadataCache;
+
+    @Autowired
+    private S3DeletionOutboxRepository outboxRepository;
+
+    @Autowired
+    private IssuedUploadRepository issuedUploadRepository;
+
+    @Autowired
+    private ReadReplicaRouter readReplicaRouter;
+
+    @Autowired(required = false)
+    private S3AsyncStorageService asyncStorageService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private VirtualThreadConfig virtualThreadConfig;
+
     @Value("${S3_BUCKET:}")
     private String s3Bucket;
 
+    @Value("${file.dedup.enabled:false}")
+    private boolean dedupEnabled;
+
+    @Value("${file.upload.async.pool-size:4}")
+    private int asyncPoolSize;
+
+    @Value("${file.upload.async.queue-capacity:100}")
+    private int asyncQueueCapacity;
+
+    @Value("${file.upload.async.staging-dir:/var/lib/webapp/staging}")
+    private String asyncStagingDir;
+
+    @Value("${file.upload.async.stale-after:15m}")
+    private Duration asyncStaleAfter;
+
+    @Value("${file.upload.async.sweep-interval:5m}")
+    private Duration asyncSweepInterval;
+
+    @Value("${storage.async.save-pool-size:4}")
+    private int nonBlockingSavePoolSize;
+
+    @Value("${storage.async.save-queue-capacity:1000}")
+    private int nonBlockingSaveQueueCapacity;
+
+    private ThreadPoolExecutor asyncUploadExecutor;
+    private ThreadPoolExecutor nonBlockingSaveExecutor;
+    private ScheduledExecutorService pendingUploadSweeper;
+
+    // Uploads staged by this instance that are queued or transferring; the sweeper leaves them alone
+    private final Set<UUID> stagedInFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        try {
+            Files.createDirectories(Paths.get(asyncStagingDir));
+        } catch (IOException e) {
+            logger.warn("Could not create upload staging directory {}: {}", asyncStagingDir, e.getMessage());
+        }
+
+        asyncUploadExecutor = new ThreadPoolExecutor(asyncPoolSize, asyncPoolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(asyncQueueCapacity), virtualThreadConfig.threadFactory("async-upload-"));
+
+        Gauge.builder("file.upload.async.queued", asyncUploadExecutor, executor -> executor.getQueue().size())
+                .description("Accepted uploads waiting for a transfer thread")
+                .register(meterRegistry);
+        Gauge.builder("file.upload.async.inflight", asyncUploadExecutor, ThreadPoolExecutor::getActiveCount)
+                .description("Uploads currently being transferred to S3")
+                .register(meterRegistry);
+
+        if (asyncStorageService != null) {
+            // Row writes after a non-blocking transfer run here, never on the storage client's event loop
+            nonBlockingSaveExecutor = new ThreadPoolExecutor(nonBlockingSavePoolSize, nonBlockingSavePoolSize, 60L,
+                    TimeUnit.SECONDS, new ArrayBlockingQueue<>(nonBlockingSaveQueueCapacity),
+                    virtualThreadConfig.threadFactory("upload-save-"));
+        }
+
+        // The first sweep runs at startup, picking up what a previous run of this instance left PENDING
+        pendingUploadSweeper = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("pending-upload-sweeper-"));
+        pendingUploadSweeper.scheduleWithFixedDelay(this::sweepPendingUploadsSafely, 0, asyncSweepInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (pendingUploadSweeper != null) {
+            pendingUploadSweeper.shutdownNow();
+        }
+        if (nonBlockingSaveExecutor != null) {
+            nonBlockingSaveExecutor.shutdown();
+        }
+        asyncUploadExecutor.shutdown();
+        if (!asyncUploadExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Async uploads still running at shutdown, {} left PENDING", asyncUploadExecutor.getQueue().size());
+        }
+    }
+
     public File uploadFile(MultipartFile multipartFile) throws IOException {
         logger.info("Attempting to upload file: {}", multipartFile.getOriginalFilename());
         logger.info("S3 Bucket configured: {}", s3Bucket);
 
-        String url = s3Service.uploadFile(multipartFile);
+        if (dedupEnabled) {
+            return uploadDeduplicated(multipartFile);
+        }
+
+        String key = s3Service.generateUniqueFileName(multipartFile.getOriginalFilename());
+        String url;
+        try (InputStream in = multipartFile.getInputStream()) {
+            url = storageBackend.store(key, in, multipartFile.getSize(), multipartFile.getContentType());
+        }
 
         // Create file entity
         File file = new File();
         file.setFileName(multipartFile.getOriginalFilename());
         file.setOriginalFileName(multipartFile.getOriginalFilename());
         file.setUrl(url);
+        file.setStorageKey(key);
         file.setUploadDate(LocalDate.now());
 
         // Save to database
@@ -45,30 +206,422 @@ public class FileService {
         return savedFile;
     }
 
+    /**
+     * Hashes the spooled body first so a known digest can skip the transfer
+     * entirely; otherwise stores it once and records it for later uploads.
+     */
+    private File uploadDeduplicated(MultipartFile multipartFile) throws IOException {
+        File file = new File();
+        file.setFileName(multipartFile.getOriginalFilename());
+        file.setOriginalFileName(multipartFile.getOriginalFilename());
+        file.setUploadDate(LocalDate.now());
+        try (InputStream in = multipartFile.getInputStream()) {
+            file.setDigest(contentDedupService.digest(in));
+        }
+
+        long size = multipartFile.getSize();
+        Optional<File> shared = contentDedupService.saveIfStored(file, size);
+        if (shared.isPresent()) {
+            return shared.get();
+        }
+
+        String key = s3Service.generateUniqueFileName(multipartFile.getOriginalFilename());
+        try (InputStream in = multipartFile.getInputStream()) {
+            file.setUrl(storageBackend.store(key, in, size, multipartFile.getContentType()));
+        }
+        file.setStorageKey(key);
+        String ownUrl = file.getUrl();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                File savedFile = contentDedupService.saveNewObject(file, size);
+                logger.info("File saved with ID: {}", savedFile.getId());
+                return savedFile;
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent upload of the same content recorded it first: share that object, drop ours
+                shared = contentDedupService.saveIfStored(file, size);
+                if (shared.isPresent()) {
+                    logger.info("Digest {} stored concurrently, discarding duplicate object {}", file.getDigest(), ownUrl);
+                    outboxRepository.save(new S3DeletionOutbox(ownUrl));
+                    return shared.get();
+                }
+                // The other object lost its last reference meanwhile; record ours once more
+                if (attempt > 0) {
+                    outboxRepository.save(new S3DeletionOutbox(ownUrl));
+                    throw new IOException("Identical content is being deleted concurrently, retry");
+                }
+                file.setUrl(ownUrl);
+                file.setStorageKey(key);
+            }
+        }
+    }
+
+    /**
+     * Uploads through the non-blocking storage client. The body is staged to
+     * local disk (a rename for container-spooled parts) and streamed to S3 by
+     * the event loop; the row is then saved on a bounded executor, and if it
+     * cannot be saved the stored object is queued for deletion. Content dedup
+     * is not applied here: every upload stores its own object.
+     */
+    public CompletableFuture<File> uploadFileNonBlocking(MultipartFile multipartFile) throws IOException {
+        logger.info("Attempting non-blocking upload of file: {}", multipartFile.getOriginalFilename());
+
+        File file = new File();
+        String key = s3Service.generateUniqueFileName(multipartFile.getOriginalFilename());
+        Path staged = stagedPath(file.getId());
+        stagedInFlight.add(file.getId());
+        CompletableFuture<String> stored;
+        try {
+            multipartFile.transferTo(staged);
+            stored = asyncStorageService.upload(key, staged, multipartFile.getContentType());
+        } catch (IOException | RuntimeException e) {
+            // Nothing will complete this upload, so the sweeper must not skip it
+            Files.deleteIfExists(staged);
+            stagedInFlight.remove(file.getId());
+            throw e;
+        }
+        return stored
+                .thenApplyAsync(url -> {
+                    file.setFileName(multipartFile.getOriginalFilename());
+                    file.setOriginalFileName(multipartFile.getOriginalFilename());
+                    file.setUrl(url);
+                    file.setStorageKey(key);
+                    file.setUploadDate(LocalDate.now());
+
+                    File savedFile = fileRepository.save(file);
+                    logger.info("File saved with ID: {}", savedFile.getId());
+                    return savedFile;
+                }, nonBlockingSaveExecutor)
+                .whenComplete((savedFile, error) -> {
+                    try {
+                        Files.deleteIfExists(staged);
+                    } catch (IOException e) {
+                        logger.warn("Could not remove staged upload {}: {}", staged, e.getMessage());
+                    }
+                    stagedInFlight.remove(file.getId());
+
+                    // Stored but no row points at it (save failed or the save queue was full)
+                    if (error != null && stored.isDone() && !stored.isCompletedExceptionally()) {
+                        String url = stored.join();
+                        logger.warn("Row for {} was not saved, queueing stored object for removal: {}", url, error.getMessage());
+                        try {
+                            outboxRepository.save(new S3DeletionOutbox(url));
+                        } catch (RuntimeException e) {
+                            logger.error("Could not queue orphaned object {} for removal: {}", url, e.getMessage(), e);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Stages the body on local disk, persists a PENDING row and hands the S3
+     * transfer to the background executor. The returned row reports PENDING
+     * until {@link #completeUpload} marks it AVAILABLE or FAILED. The body is
+     * stored as its own object even when file.dedup.enabled is set.
+     */
+    public File submitUpload(MultipartFile multipartFile) throws IOException {
+        logger.info("Accepting async upload for file: {}", multipartFile.getOriginalFilename());
+
+        File file = new File();
+        String key = s3Service.generateUniqueFileName(multipartFile.getOriginalFilename());
+        file.setFileName(multipartFile.getOriginalFilename());
+        file.setOriginalFileName(multipartFile.getOriginalFilename());
+        file.setUrl(storageBackend.getUrl(key));
+        file.setStorageKey(key);
+        file.setUploadDate(LocalDate.now());
+        file.setStatus(FileStatus.PENDING);
+
+        // The container deletes its own spooled copy once the request ends; this one survives a restart
+        Path staged = stagedPath(file.getId());
+        stagedInFlight.add(file.getId());
+        File savedFile;
+        try {
+            multipartFile.transferTo(staged);
+            savedFile = fileRepository.save(file);
+        } catch (IOException | RuntimeException e) {
+            // No row or no staged body: drop the in-flight mark along with the partial copy
+            Files.deleteIfExists(staged);
+            stagedInFlight.remove(file.getId());
+            throw e;
+        }
+        long size = multipartFile.getSize();
+        String contentType = multipartFile.getContentType();
+        try {
+            asyncUploadExecutor.execute(() -> completeUpload(savedFile.getId(), key, staged, size, contentType));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Async upload queue is full, rejecting file: {}", multipartFile.getOriginalFilename());
+            meterRegistry.counter("file.upload.async.rejected").increment();
+            fileRepository.delete(savedFile);
+            Files.deleteIfExists(staged);
+            stagedInFlight.remove(savedFile.getId());
+            throw e;
+        }
+
+        logger.info("File accepted with ID: {}", savedFile.getId());
+        return savedFile;
+    }
+
+    private void completeUpload(UUID id, String key, Path staged, long size, String contentType) {
+        FileStatus status;
+        try (InputStream in = Files.newInputStream(staged)) {
+            storageBackend.store(key, in, size, contentType);
+            status = FileStatus.AVAILABLE;
+        } catch (Exception e) {
+            logger.error("Async upload failed for file {}: {}", id, e.getMessage(), e);
+            status = FileStatus.FAILED;
+        } finally {
+            try {
+                Files.deleteIfExists(staged);
+            } catch (IOException e) {
+                logger.warn("Could not remove staged upload {}: {}", staged, e.getMessage());
+            }
+            stagedInFlight.remove(id);
+        }
+
+        Optional<File> fileOpt = fileRepository.findById(id);
+        if (fileOpt.isPresent()) {
+            File file = fileOpt.get();
+            file.setStatus(status);
+            fileRepository.save(file);
+            fileMetadataCache.invalidate(id);
+            logger.info("Async upload for file {} finished with status {}", id, status);
+        } else if (status == FileStatus.AVAILABLE) {
+            // The row was deleted while the transfer was running
+            logger.warn("File {} was deleted during upload, queueing orphaned object for removal", id);
+            outboxRepository.save(new S3DeletionOutbox(storageBackend.getUrl(key)));
+        }
+    }
+
+    /**
+     * Settles PENDING rows left behind by an instance that stopped mid-upload.
+     * A row older than file.upload.async.stale-after whose body is still staged
+     * on this host is transferred again; otherwise it becomes AVAILABLE if the
+     * object reached storage and FAILED if not. Staged bodies without a
+     * PENDING row are removed.
+     */
+    public void sweepPendingUploads() {
+        long staleBefore = System.currentTimeMillis() - asyncStaleAfter.toMillis();
+        for (File file : fileRepository.findByStatus(FileStatus.PENDING)) {
+            UUID id = file.getId();
+            if (stagedInFlight.contains(id) || UuidV7.timestamp(id) > staleBefore) {
+                continue;
+            }
+
+            String key = storageKey(file);
+            Path staged = stagedPath(id);
+            try {
+                if (Files.exists(staged)) {
+                    long size = Files.size(staged);
+                    stagedInFlight.add(id);
+                    try {
+                        // The content type was not kept; storage falls back to its default
+                        asyncUploadExecutor.execute(() -> completeUpload(id, key, staged, size, null));
+                    } catch (RejectedExecutionException e) {
+                        stagedInFlight.remove(id);
+                        logger.warn("Async upload queue is full, file {} stays PENDING until the next sweep", id);
+                        continue;
+                    }
+                    meterRegistry.counter("file.upload.async.recovered", "outcome", "resumed").increment();
+                    logger.info("Resuming interrupted upload of file {}", id);
+                } else {
+                    FileStatus status = storageBackend.size(key) >= 0 ? FileStatus.AVAILABLE : FileStatus.FAILED;
+                    if (fileRepository.updateStatus(id, FileStatus.PENDING, status) > 0) {
+                        fileMetadataCache.invalidate(id);
+                        meterRegistry.counter("file.upload.async.recovered", "outcome", status.name().toLowerCase()).increment();
+                        logger.warn("Upload of file {} was interrupted without a staged body, marked {}", id, status);
+                    }
+                }
+            } catch (Exception e) {
+                logger.error("Could not recover PENDING file {}: {}", id, e.getMessage(), e);
+            }
+        }
+
+        try (DirectoryStream<Path> stagedFiles = Files.newDirectoryStream(Paths.get(asyncStagingDir), "*.upload")) {
+            for (Path staged : stagedFiles) {
+                String name = staged.getFileName().toString();
+                UUID id;
+                try {
+                    id = UUID.fromString(name.substring(0, name.length() - ".upload".length()));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                if (stagedInFlight.contains(id) || Files.getLastModifiedTime(staged).toMillis() > staleBefore) {
+                    continue;
+                }
+                Optional<File> file = fileRepository.findById(id);
+                if (file.isEmpty() || file.get().getStatus() != FileStatus.PENDING) {
+                    Files.deleteIfExists(staged);
+                    logger.info("Removed orphaned staged upload {}", staged);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not scan upload staging directory {}: {}", asyncStagingDir, e.getMessage());
+        }
+    }
+
+    private void sweepPendingUploadsSafely() {
+        try {
+            sweepPendingUploads();
+        } catch (Exception e) {
+            logger.error("PENDING upload sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Path stagedPath(UUID id) {
+        return Paths.get(asyncStagingDir).resolve(id + ".upload");
+    }
+
+    public PresignedUpload createPresignedUpload(String originalFilename, String contentType) {
+        String key = s3Service.generateUniqueFileName(originalFilename);
+        Instant expiresAt = Instant.now().plus(s3Service.getPresignExpiration());
+        String uploadUrl = s3Service.generatePresignedUploadUrl(key, contentType, Date.from(expiresAt)).toString();
+        issuedUploadRepository.save(new IssuedUpload(key, originalFilename, expiresAt));
+        logger.info("Issued presigned upload URL for key: {}", key);
+        return new PresignedUpload(key, uploadUrl, expiresAt);
+    }
+
+    /**
+     * Saves the row for an object uploaded through a presigned URL. Only keys
+     * issued by {@link #createPresignedUpload} are accepted, and committing a
+     * key again returns the row the first commit created.
+     */
+    public File commitUpload(String key, long expectedSize) throws Exception {
+        logger.info("Attempting to commit direct upload for key: {}", key);
+
+        Optional<File> committed = fileRepository.findByStorageKey(key);
+        if (committed.isPresent()) {
+            logger.info("Key {} already committed as file {}", key, committed.get().getId());
+            return committed.get();
+        }
+        Optional<IssuedUpload> issued = issuedUploadRepository.findById(key);
+        if (issued.isEmpty()) {
+            throw new Exception("Invalid upload key");
+        }
+
+        long actualSize = storageBackend.size(key);
+        if (actualSize < 0) {
+            throw new Exception("Uploaded object not found");
+        }
+        if (actualSize != expectedSize) {
+            logger.warn("Size mismatch for key {}: expected {} bytes, found {}", key, expectedSize, actualSize);
+            throw new Exception("Uploaded object size mismatch");
+        }
+
+        File file = new File();
+        file.setFileName(issued.get().getOriginalFileName());
+        file.setOriginalFileName(issued.get().getOriginalFileName());
+        file.setUrl(storageBackend.getUrl(key));
+        file.setStorageKey(key);
+        file.setUploadDate(LocalDate.now());
+
+        File savedFile;
+        try {
+            savedFile = fileRepository.saveAndFlush(file);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent commit of the same key won the unique storage_key
+            return fileRepository.findByStorageKey(key)
+                    .orElseThrow(() -> new Exception("Upload is being committed concurrently, retry"));
+        }
+        issuedUploadRepository.deleteById(key);
+        logger.info("Direct upload committed with ID: {}", savedFile.getId());
+        return savedFile;
+    }
+
     public Optional<File> getFile(String id) {
-        return fileRepository.findById(id);
+        return parseId(id).flatMap(fileMetadataCache::get);
+    }
+
+    // Ids that are not UUIDs cannot exist, so they are treated as not found
+    private static Optional<UUID> parseId(String id) {
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Lists files newest first using keyset pagination on (upload_date, id):
+     * each page seeks past the previous page's last row through the composite
+     * index, so deep pages cost the same as the first.
+     */
+    public FilePage listFiles(LocalDate from, LocalDate to, String cursor, int limit) throws Exception {
+        LocalDate lower = from != null ? from : MIN_LIST_DATE;
+        LocalDate upper = to != null ? to : MAX_LIST_DATE;
+        // One extra row tells whether another page follows
+        Pageable page = PageRequest.of(0, limit + 1);
+
+        List<File> files;
+        if (cursor == null || cursor.isEmpty()) {
+            files = readReplicaRouter.read(() -> fileRepository.findFirstPage(lower, upper, page));
+        } else {
+            String[] position = decodeCursor(cursor);
+            LocalDate afterDate = LocalDate.parse(position[0]);
+            UUID afterId = UUID.fromString(position[1]);
+            files = readReplicaRouter.read(() -> fileRepository.findPageAfter(lower, upper, afterDate, afterId, page));
+        }
+
+        if (files.size() <= limit) {
+            return new FilePage(files, null);
+        }
+        List<File> pageFiles = files.subList(0, limit);
+        File last = pageFiles.get(limit - 1);
+        return new FilePage(pageFiles, encodeCursor(last));
+    }
+
+    private static String encodeCursor(File file) {
+        String position = file.getUploadDate() + "|" + file.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) throws Exception {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new Exception("Invalid cursor");
+            }
+            LocalDate.parse(parts[0]);
+            UUID.fromString(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new Exception("Invalid cursor");
+        }
     }
 
+    /**
+     * Returns the stored size of the file's body in bytes, or -1 if the object is missing.
+     */
+    public long getContentLength(File file) throws IOException {
+        return storageBackend.size(storageKey(file));
+    }
+
+    public long writeContent(File file, long position, long count, WritableByteChannel target) throws IOException {
+        return storageBackend.transferTo(storageKey(file), position, count, target);
+    }
+
+    // Rows without a recorded key (older rows, shared dedup objects) derive it from the URL
+    private String storageKey(File file) {
+        return file.getStorageKey() != null ? file.getStorageKey() : storageBackend.getKey(file.getUrl());
+    }
+
+    @Transactional(rollbackFor = Exception.class)
     public void deleteFile(String id) throws Exception {
         logger.info("Attempting to delete file with ID: {}", id);
 
         try {
-            Optional<File> fileOpt = fileRepository.findById(id);
+            Optional<File> fileOpt = parseId(id).flatMap(fileRepository::findById);
 
             if (fileOpt.isPresent()) {
                 File file = fileOpt.get();
                 logger.info("Found file: {}, with URL: {}", id, file.getUrl());
 
                 try {
-                    // Delete from S3
-                    logger.info("Attempting to delete file from S3: {}", file.getUrl());
-                    s3Service.deleteFile(file.getUrl());
-                    logger.info("Successfully deleted file from S3: {}", file.getUrl());
-
-                    // Delete from database
+                    // Delete from database and queue the S3 object in the same transaction
                     logger.info("Attempting to delete file record from database: {}", id);
                     fileRepository.delete(file);
-                    logger.info("Successfully deleted file record from database: {}", id);
+                    releaseObject(file);
+                    fileMetadataCache.invalidateAfterCommit(file.getId());
+                    logger.info("Successfully deleted file record, stored object released: {}", file.getUrl());
                 } catch (Exception e) {
                     logger.error("Error during file deletion process: {}", e.getMessage(), e);
                     throw new Exception("Error deleting file: " + e.getMessage(), e);
@@ -84,4 +637,60 @@ public class FileService {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    // Shared (deduplicated) objects are only queued for deletion with their last reference
+    private void releaseObject(File file) {
+        if (file.getDigest() == null) {
+            outboxRepository.save(new S3DeletionOutbox(file.getUrl()));
+        } else {
+            contentDedupService.release(file.getDigest(), 1);
+        }
+    }
+
+    /**
+     * Deletes many files with one lookup and one batched row delete, queueing
+     * their S3 objects in the same transaction. Returns the outcome per id:
+     * deleted or not_found.
+     */
+    @Transactional
+    public Map<String, String> deleteFiles(Collection<String> ids) {
+        logger.info("Attempting to batch delete {} files", ids.size());
+
+        Map<String, String> results = new LinkedHashMap<>();
+        // Several spellings (e.g. upper and lower case) can parse to the same id; each gets the outcome
+        Map<UUID, List<String>> requested = new HashMap<>();
+        ids.forEach(id -> {
+            results.put(id, "not_found");
+            parseId(id).ifPresent(uuid -> requested.computeIfAbsent(uuid, k -> new ArrayList<>()).add(id));
+        });
+
+        List<File> files = fileRepository.findAllById(requested.keySet());
+        if (files.isEmpty()) {
+            return results;
+        }
+
+        List<UUID> deletedIds = new ArrayList<>(files.size());
+        List<S3DeletionOutbox> deletions = new ArrayList<>(files.size());
+        Map<String, Integer> releasedDigests = new HashMap<>();
+        for (File file : files) {
+            deletedIds.add(file.getId());
+            if (file.getDigest() == null) {
+                deletions.add(new S3DeletionOutbox(file.getUrl()));
+            } else {
+                releasedDigests.merge(file.getDigest(), 1, Integer::sum);
+            }
+        }
+        fileRepository.deleteAllByIdInBatch(deletedIds);
+        outboxRepository.saveAll(deletions);
+        releasedDigests.forEach((digest, references) -> contentDedupService.release(digest, references));
+
+        deletedIds.forEach(id -> {
+            fileMetadataCache.invalidateAfterCommit(id);
+            requested.get(id).forEach(spelling -> results.put(spelling, "deleted"));
+        });
+
+        logger.info("Batch delete finished: {} deleted, {} not found",
+                deletedIds.size(), requested.size() - deletedIds.size());
+        return results;
+    }
+}
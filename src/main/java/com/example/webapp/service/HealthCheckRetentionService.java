@@ -0,0 +1,157 @@
+package com.example.webapp.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically deletes expired health_check rows. Rows are walked in primary
+ * key order in chunks of {@code chunk-size}, each deleted by a short key-range
+ * statement in its own transaction so no long locks are held. Optionally each
+ * chunk is first rolled up into per-minute counts in health_check_rollup.
+ */
+@Service
+public class HealthCheckRetentionService {
+    private static final Logger logger = LoggerFactory.getLogger(HealthCheckRetentionService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${healthcheck.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${healthcheck.retention.max-age:7d}")
+    private Duration maxAge;
+
+    @Value("${healthcheck.retention.interval:1h}")
+    private Duration interval;
+
+    @Value("${healthcheck.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${healthcheck.retention.chunk-pause:50ms}")
+    private Duration chunkPause;
+
+    @Value("${healthcheck.retention.rollup.enabled:false}")
+    private boolean rollupEnabled;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("healthcheck-retention-"));
+        scheduler.scheduleWithFixedDelay(this::runSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Health check retention enabled: maxAge={}, interval={}, chunkSize={}, rollup={}",
+                maxAge, interval, chunkSize, rollupEnabled);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void runSafely() {
+        try {
+            purgeExpired();
+        } catch (Exception e) {
+            logger.error("Health check retention run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public long purgeExpired() throws InterruptedException {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minus(maxAge);
+        long startTime = System.nanoTime();
+        long purged = 0;
+        long lastId = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            // Primary-key range scan, so each chunk costs the same however large the table is
+            List<ProbeRow> chunk = jdbcTemplate.query(
+                    "SELECT check_id, datetime FROM health_check WHERE check_id > ? ORDER BY check_id LIMIT ?",
+                    (rs, rowNum) -> new ProbeRow(rs.getLong("check_id"), rs.getObject("datetime", LocalDateTime.class)),
+                    lastId, chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            // Ids grow with insert time, so the expired rows are a prefix of the chunk
+            long upperId = lastId;
+            boolean reachedLiveRows = false;
+            for (ProbeRow row : chunk) {
+                if (row.datetime() != null && !row.datetime().isBefore(cutoff)) {
+                    reachedLiveRows = true;
+                    break;
+                }
+                upperId = row.checkId();
+            }
+
+            if (upperId > lastId) {
+                purged += purgeRange(lastId, upperId, cutoff);
+                lastId = upperId;
+            }
+            if (reachedLiveRows || chunk.size() < chunkSize) {
+                break;
+            }
+            Thread.sleep(chunkPause.toMillis());
+        }
+
+        long elapsed = System.nanoTime() - startTime;
+        meterRegistry.counter("healthcheck.retention.purged").increment(purged);
+        Timer.builder("healthcheck.retention.duration")
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        logger.info("Health check retention purged {} rows older than {} in {} ms",
+                purged, cutoff, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return purged;
+    }
+
+    private int purgeRange(long fromIdExclusive, long toIdInclusive, LocalDateTime cutoff) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            if (rollupEnabled) {
+                jdbcTemplate.update(
+                        "INSERT INTO health_check_rollup (minute_start, probe_count) "
+                                + "SELECT DATE_FORMAT(datetime, '%Y-%m-%d %H:%i:00'), COUNT(*) FROM health_check "
+                                + "WHERE check_id > ? AND check_id <= ? AND datetime < ? "
+                                + "GROUP BY DATE_FORMAT(datetime, '%Y-%m-%d %H:%i:00') "
+                                + "ON DUPLICATE KEY UPDATE probe_count = probe_count + VALUES(probe_count)",
+                        fromIdExclusive, toIdInclusive, cutoff);
+            }
+            return jdbcTemplate.update(
+                    "DELETE FROM health_check WHERE check_id > ? AND check_id <= ? AND (datetime < ? OR datetime IS NULL)",
+                    fromIdExclusive, toIdInclusive, cutoff);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    private record ProbeRow(long checkId, LocalDateTime datetime) {
+    }
+}
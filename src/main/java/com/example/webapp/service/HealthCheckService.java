@@ -0,0 +1,153 @@
+package com.example.webapp.service;
+
+import com.example.webapp.model.HealthCheck;
+import com.example.webapp.repositry.HealthCheckRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records health probes. In write-behind mode each probe only runs a cheap
+ * liveness query and enqueues its timestamp; a background flusher writes the
+ * queue as multi-row inserts every flush interval or once a batch fills up.
+ */
+@Service
+public class HealthCheckService {
+    private static final Logger logger = LoggerFactory.getLogger(HealthCheckService.class);
+
+    @Autowired
+    private HealthCheckRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${healthcheck.write-behind.enabled:false}")
+    private boolean writeBehind;
+
+    @Value("${healthcheck.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${healthcheck.write-behind.flush-interval:5s}")
+    private Duration flushInterval;
+
+    @Value("${healthcheck.write-behind.max-buffered:100000}")
+    private int maxBuffered;
+
+    private final ConcurrentLinkedQueue<LocalDateTime> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void init() {
+        if (!writeBehind) {
+            return;
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("healthcheck-flush-"));
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        Gauge.builder("healthcheck.writebehind.pending", pendingCount, AtomicInteger::get)
+                .description("Probe records buffered but not yet written")
+                .register(meterRegistry);
+        logger.info("Health check write-behind enabled: batchSize={}, flushInterval={}", batchSize, flushInterval);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (flusher != null) {
+            flusher.shutdown();
+            // A flush already running finishes before the final one, while the DataSource is still open
+            if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Health check flush still running at shutdown, {} records may be lost", pendingCount.get());
+            }
+            flush();
+        }
+    }
+
+    public void recordCheck() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        if (!writeBehind) {
+            HealthCheck check = new HealthCheck();
+            check.setDatetime(now);
+            repository.save(check);
+            return;
+        }
+
+        // Still fail the probe when the database is unreachable
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+        if (pendingCount.get() >= maxBuffered) {
+            meterRegistry.counter("healthcheck.writebehind.dropped").increment();
+            return;
+        }
+        pending.offer(now);
+        if (pendingCount.incrementAndGet() == batchSize) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<LocalDateTime> batch = new ArrayList<>(batchSize);
+            while (true) {
+                LocalDateTime next;
+                while (batch.size() < batchSize && (next = pending.poll()) != null) {
+                    batch.add(next);
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                pendingCount.addAndGet(-batch.size());
+
+                try {
+                    insertBatch(batch);
+                    meterRegistry.counter("healthcheck.writebehind.flushed").increment(batch.size());
+                } catch (Exception e) {
+                    logger.error("Failed to flush {} health check records: {}", batch.size(), e.getMessage());
+                    // Put the records back for the next interval
+                    pending.addAll(batch);
+                    pendingCount.addAndGet(batch.size());
+                    return;
+                }
+                batch.clear();
+            }
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    private void insertBatch(List<LocalDateTime> batch) {
+        StringBuilder sql = new StringBuilder("INSERT INTO health_check (datetime) VALUES (?)");
+        for (int i = 1; i < batch.size(); i++) {
+            sql.append(",(?)");
+        }
+        jdbcTemplate.update(sql.toString(), batch.toArray());
+        logger.debug("Flushed {} health check records", batch.size());
+    }
+}
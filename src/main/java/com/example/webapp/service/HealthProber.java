@@ -0,0 +1,169 @@
+package com.example.webapp.service;
+
+import com.amazonaws.AmazonServiceException;
+import com.example.webapp.model.HealthSnapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks database and storage reachability on a fixed cadence and publishes
+ * the result as an immutable {@link HealthSnapshot}. /healthz answers from the
+ * latest snapshot instead of touching the database on the request thread, so
+ * probe traffic costs one health check write per interval however often the
+ * load balancer asks.
+ */
+@Service
+@ConditionalOnProperty(name = "healthcheck.prober.enabled", havingValue = "true")
+public class HealthProber {
+    private static final Logger logger = LoggerFactory.getLogger(HealthProber.class);
+
+    // Looked up but never written; a "not found" answer proves the store is reachable
+    private static final String STORAGE_PROBE_KEY = "healthz-probe";
+
+    @Autowired
+    private HealthCheckService healthCheckService;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${healthcheck.prober.interval:2s}")
+    private Duration interval;
+
+    @Value("${healthcheck.prober.max-age:10s}")
+    private Duration maxAge;
+
+    @Value("${healthcheck.prober.check-storage:true}")
+    private boolean checkStorage;
+
+    @Value("${storage.backend:s3}")
+    private String storageBackendType;
+
+    @Value("${S3_BUCKET:}")
+    private String s3Bucket;
+
+    private volatile HealthSnapshot snapshot;
+    private ScheduledExecutorService scheduler;
+    private Timer databaseTimer;
+    private Timer storageTimer;
+
+    @PostConstruct
+    public void init() {
+        databaseTimer = Timer.builder("healthcheck.probe")
+                .tag("target", "database")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        storageTimer = Timer.builder("healthcheck.probe")
+                .tag("target", "storage")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("healthcheck.snapshot.age", this, prober -> prober.snapshotAgeMillis())
+                .description("Milliseconds since the last completed probe round")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("healthcheck.snapshot.healthy", this, prober -> prober.isHealthy() ? 1 : 0)
+                .register(meterRegistry);
+
+        // Every S3 call fails without a bucket, so probing storage would keep /healthz at 503 for good
+        if (checkStorage && "s3".equals(storageBackendType) && (s3Bucket == null || s3Bucket.isEmpty())) {
+            logger.error("S3 storage backend is enabled but S3_BUCKET is not set; the storage health probe is skipped");
+            checkStorage = false;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("health-prober-"));
+        scheduler.scheduleWithFixedDelay(this::probe, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Background health prober enabled: interval={}, maxAge={}, checkStorage={}", interval, maxAge, checkStorage);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * True when the latest snapshot is recent enough and every check passed.
+     * Before the first round completes, and whenever probing stalls (a hung
+     * database connection, for example), the snapshot goes stale and this
+     * reports unhealthy.
+     */
+    public boolean isHealthy() {
+        HealthSnapshot current = snapshot;
+        return current != null && current.isHealthy() && !current.isStale(Instant.now(), maxAge);
+    }
+
+    public HealthSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    private void probe() {
+        boolean databaseUp = timed(databaseTimer, this::probeDatabase);
+        boolean storageUp = !checkStorage || timed(storageTimer, this::probeStorage);
+
+        HealthSnapshot previous = snapshot;
+        snapshot = new HealthSnapshot(databaseUp, storageUp, Instant.now());
+        if (previous == null || previous.isHealthy() != snapshot.isHealthy()) {
+            logger.info("Health status is now {} (database={}, storage={})",
+                    snapshot.isHealthy() ? "UP" : "DOWN", databaseUp ? "UP" : "DOWN", storageUp ? "UP" : "DOWN");
+        }
+    }
+
+    private boolean timed(Timer timer, Probe probe) {
+        long start = System.nanoTime();
+        boolean up;
+        try {
+            probe.run();
+            up = true;
+        } catch (Exception e) {
+            logger.warn("Health probe failed: {}", e.getMessage());
+            up = false;
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!up) {
+            meterRegistry.counter("healthcheck.probe.failures", timer.getId().getTags()).increment();
+        }
+        return up;
+    }
+
+    private void probeDatabase() {
+        healthCheckService.recordCheck();
+    }
+
+    private void probeStorage() throws Exception {
+        try {
+            storageBackend.size(STORAGE_PROBE_KEY);
+        } catch (AmazonServiceException e) {
+            // Any 4xx (e.g. 403 on a missing key without s3:ListBucket) is an answer from S3
+            if (e.getStatusCode() >= 500) {
+                throw e;
+            }
+        }
+    }
+
+    private long snapshotAgeMillis() {
+        HealthSnapshot current = snapshot;
+        return current == null ? -1 : Duration.between(current.checkedAt(), Instant.now()).toMillis();
+    }
+
+    @FunctionalInterface
+    private interface Probe {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.webapp.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores bodies on the local filesystem under {@code storage.local.root-dir}.
+ * Objects are spread over 256x256 shard directories so no directory grows
+ * large, written to a temporary file and renamed into place so readers never
+ * see a partial object, and read with {@link FileChannel#transferTo}, which the
+ * kernel can serve without copying through the heap.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local")
+public class LocalDiskStorageBackend implements StorageBackend {
+    private static final Logger logger = LoggerFactory.getLogger(LocalDiskStorageBackend.class);
+
+    static final String URL_PREFIX = "local://";
+
+    // Longest encoded key used verbatim as a file name; longer keys are hashed
+    private static final int MAX_FILE_NAME = 200;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    /**
+     * When stored bodies are forced to disk. NONE leaves it to the OS page
+     * cache; FILE forces the body before the rename; FILE_AND_DIRECTORY also
+     * forces the shard directory so the rename itself survives a power loss.
+     */
+    public enum FsyncPolicy { NONE, FILE, FILE_AND_DIRECTORY }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${storage.local.root-dir:/var/lib/webapp/storage}")
+    private String rootDir;
+
+    @Value("${storage.local.fsync:FILE}")
+    private FsyncPolicy fsyncPolicy;
+
+    private Path root;
+    private Timer fsyncTimer;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(rootDir).toAbsolutePath();
+        Files.createDirectories(root);
+        fsyncTimer = Timer.builder("storage.local.fsync")
+                .description("Time spent forcing stored bodies and directories to disk")
+                .register(meterRegistry);
+        logger.info("Local disk storage initialized: root={}, fsync={}", root, fsyncPolicy);
+    }
+
+    @Override
+    public String store(String key, InputStream in, long size, String contentType) throws IOException {
+        Path target = pathFor(key);
+        Path directory = target.getParent();
+        Files.createDirectories(directory);
+
+        Path temp = directory.resolve("." + target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                 ReadableByteChannel source = Channels.newChannel(in)) {
+                long written = 0;
+                while (written < size) {
+                    long transferred = out.transferFrom(source, written, size - written);
+                    if (transferred <= 0) {
+                        throw new IOException("Unexpected end of stream after " + written + " of " + size + " bytes");
+                    }
+                    written += transferred;
+                }
+                if (fsyncPolicy != FsyncPolicy.NONE) {
+                    force(out);
+                }
+            }
+            move(temp, target);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        if (fsyncPolicy == FsyncPolicy.FILE_AND_DIRECTORY) {
+            try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+                force(dir);
+            }
+        }
+        return getUrl(key);
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        try {
+            return Files.size(pathFor(key));
+        } catch (NoSuchFileException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public long transferTo(String key, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel in = FileChannel.open(pathFor(key), StandardOpenOption.READ)) {
+            long end = Math.min(position + count, in.size());
+            long offset = position;
+            while (offset < end) {
+                long transferred = in.transferTo(offset, end - offset, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                offset += transferred;
+            }
+            return offset - position;
+        }
+    }
+
+    @Override
+    public Set<String> deleteAll(Collection<String> urls) {
+        Set<String> failed = new HashSet<>();
+        for (String url : urls) {
+            try {
+                Files.deleteIfExists(pathFor(getKey(url)));
+            } catch (IOException e) {
+                logger.error("Failed to delete stored object {}: {}", url, e.getMessage());
+                failed.add(url);
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return URL_PREFIX + key;
+    }
+
+    @Override
+    public String getKey(String url) {
+        return url.startsWith(URL_PREFIX) ? url.substring(URL_PREFIX.length()) : url;
+    }
+
+    Path pathFor(String key) {
+        // Keys carry user-supplied file names, so they are encoded before touching the filesystem
+        String name = URLEncoder.encode(key, StandardCharsets.UTF_8);
+        if (name.length() > MAX_FILE_NAME) {
+            name = sha256(key);
+        }
+        int hash = key.hashCode();
+        return root.resolve(HEX.toHexDigits((byte) (hash >>> 24)))
+                .resolve(HEX.toHexDigits((byte) (hash >>> 16)))
+                .resolve(name);
+    }
+
+    private void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Same directory, so this only happens on filesystems without rename(2) semantics
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void force(FileChannel channel) throws IOException {
+        long start = System.nanoTime();
+        channel.force(true);
+        fsyncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HEX.formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
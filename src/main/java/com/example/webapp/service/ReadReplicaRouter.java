@@ -0,0 +1,172 @@
+package com.example.webapp.service;
+
+import com.example.webapp.config.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Runs read-only queries on a read replica when replicas are configured (see
+ * ReplicaDataSourceConfig), and on the primary otherwise. Reads inside a
+ * transaction stay on the primary so a flow can read its own writes, and a
+ * replica is only used while its last measured lag is within
+ * datasource.replica.max-lag. Reads made while an EntityManager is already
+ * bound to the thread (open-in-view) also stay on the primary: that
+ * EntityManager holds its first connection, so a scope could not switch it.
+ */
+@Service
+public class ReadReplicaRouter {
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRouter.class);
+
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${datasource.replica.lag-check-interval:5s}")
+    private Duration lagCheckInterval;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        if (routingDataSource == null) {
+            return;
+        }
+
+        for (ReplicaRoutingDataSource.Replica replica : routingDataSource.getReplicas()) {
+            Gauge.builder("datasource.replica.lag", replica, ReplicaRoutingDataSource.Replica::getLagSeconds)
+                    .description("Replication lag in seconds at the last check, -1 when unknown")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-lag-"));
+        scheduler.scheduleWithFixedDelay(this::checkLag, 0, lagCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public <T> T read(Supplier<T> query) {
+        return read(query, result -> false);
+    }
+
+    /**
+     * Runs the query on a replica, repeating it on the primary when the
+     * replica fails or when {@code recheckOnPrimary} rejects its result (for
+     * example a row the replica has not received yet).
+     */
+    public <T> T read(Supplier<T> query, Predicate<T> recheckOnPrimary) {
+        if (routingDataSource == null || TransactionSynchronizationManager.isActualTransactionActive()
+                || !ReplicaRoutingDataSource.PRIMARY.equals(ReplicaRoutingDataSource.currentTarget())) {
+            return query.get();
+        }
+        if (entityManagerFactory != null && TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+            meterRegistry.counter("datasource.replica.fallback", "reason", "bound-entity-manager").increment();
+            return query.get();
+        }
+
+        ReplicaRoutingDataSource.Replica replica = routingDataSource.chooseReplica();
+        if (replica == null) {
+            meterRegistry.counter("datasource.replica.fallback", "reason", "unavailable").increment();
+            return query.get();
+        }
+
+        T result;
+        ReplicaRoutingDataSource.setCurrentTarget(replica.name());
+        try {
+            result = query.get();
+        } catch (DataAccessException | TransactionException e) {
+            // Taken out of rotation until the next lag check reaches it
+            replica.setLagSeconds(-1);
+            logger.warn("Read on {} failed, retrying on primary: {}", replica.name(), e.getMessage());
+            meterRegistry.counter("datasource.replica.fallback", "reason", "error").increment();
+            return query.get();
+        } finally {
+            ReplicaRoutingDataSource.setCurrentTarget(null);
+        }
+
+        if (recheckOnPrimary.test(result)) {
+            meterRegistry.counter("datasource.replica.fallback", "reason", "recheck").increment();
+            return query.get();
+        }
+        return result;
+    }
+
+    private void checkLag() {
+        for (ReplicaRoutingDataSource.Replica replica : routingDataSource.getReplicas()) {
+            long lag;
+            try (Connection connection = replica.dataSource().getConnection()) {
+                lag = replicationLag(connection);
+            } catch (SQLException e) {
+                lag = -1;
+                logger.warn("Lag check on {} failed: {}", replica.name(), e.getMessage());
+            }
+            if (lag != replica.getLagSeconds()) {
+                logger.info("Replica {} lag is now {}s", replica.name(), lag);
+            }
+            replica.setLagSeconds(lag);
+        }
+    }
+
+    // Seconds behind the source as reported by MySQL, -1 when replication is stopped
+    private static long replicationLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            ResultSet status;
+            try {
+                status = statement.executeQuery("SHOW REPLICA STATUS");
+            } catch (SQLException e) {
+                // Servers before 8.0.22 only know the old spelling
+                status = statement.executeQuery("SHOW SLAVE STATUS");
+            }
+            try (ResultSet rs = status) {
+                // Managed read endpoints (e.g. Aurora readers) report no replication channel
+                if (!rs.next()) {
+                    return 0;
+                }
+                ResultSetMetaData metadata = rs.getMetaData();
+                for (int i = 1; i <= metadata.getColumnCount(); i++) {
+                    String column = metadata.getColumnLabel(i);
+                    if ("Seconds_Behind_Source".equals(column) || "Seconds_Behind_Master".equals(column)) {
+                        long lag = rs.getLong(i);
+                        return rs.wasNull() ? -1 : lag;
+                    }
+                }
+                return -1;
+            }
+        }
+    }
+}
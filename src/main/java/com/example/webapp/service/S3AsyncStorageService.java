@@ -0,0 +1,95 @@
+package com.example.webapp.service;
+
+import com.example.webapp.config.NonBlockingStorageCondition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetUrlRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking counterpart of {@link S3Service} built on the SDK v2 async
+ * client. Every operation returns immediately with a future that completes
+ * once S3 answers; no thread waits on the transfer in between.
+ */
+@Service
+@Conditional(NonBlockingStorageCondition.class)
+public class S3AsyncStorageService {
+    private static final Logger logger = LoggerFactory.getLogger(S3AsyncStorageService.class);
+
+    @Autowired
+    private S3AsyncClient s3AsyncClient;
+
+    @Value("${S3_BUCKET}")
+    private String bucketName;
+
+    public CompletableFuture<String> upload(String key, Path source, String contentType) {
+        if (bucketName == null || bucketName.isEmpty()) {
+            logger.warn("No S3 bucket configured. Skipping S3 upload.");
+            return CompletableFuture.completedFuture("local://" + key);
+        }
+
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build();
+        return s3AsyncClient.putObject(request, AsyncRequestBody.fromFile(source))
+                .thenApply(response -> getUrl(key));
+    }
+
+    public CompletableFuture<Void> delete(String key) {
+        if (bucketName == null || bucketName.isEmpty()) {
+            logger.warn("No S3 bucket configured. Skipping S3 delete.");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        DeleteObjectRequest request = DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+        return s3AsyncClient.deleteObject(request).thenApply(response -> null);
+    }
+
+    public CompletableFuture<Boolean> exists(String key) {
+        if (bucketName == null || bucketName.isEmpty()) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        HeadObjectRequest request = HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+        return s3AsyncClient.headObject(request).handle((response, error) -> {
+            if (error == null) {
+                return true;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof S3Exception && ((S3Exception) cause).statusCode() == 404) {
+                return false;
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
+    public String getUrl(String key) {
+        if (bucketName == null || bucketName.isEmpty()) {
+            return "local://" + key;
+        }
+        return s3AsyncClient.utilities()
+                .getUrl(GetUrlRequest.builder().bucket(bucketName).key(key).build())
+                .toString();
+    }
+}
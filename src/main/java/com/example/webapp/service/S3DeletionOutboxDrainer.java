@@ -0,0 +1,165 @@
+package com.example.webapp.service;
+
+import com.example.webapp.model.S3DeletionOutbox;
+import com.example.webapp.repositry.S3DeletionOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Removes the stored objects of deleted files. FileService records each object
+ * in s3_deletion_outbox in the same transaction as the row delete; this drainer
+ * sends due entries to the storage backend in batches (multi-object deletes on
+ * S3) and reschedules failures with exponential backoff, so no object is
+ * leaked when storage is unavailable. Every instance runs a drainer; each pass
+ * leases the entries it takes for s3.delete.outbox.lease, and entries of a pass
+ * that dies become due again when the lease ends.
+ */
+@Service
+public class S3DeletionOutboxDrainer {
+    private static final Logger logger = LoggerFactory.getLogger(S3DeletionOutboxDrainer.class);
+
+    @Autowired
+    private S3DeletionOutboxRepository outboxRepository;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${s3.delete.outbox.interval:5s}")
+    private Duration interval;
+
+    @Value("${s3.delete.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${s3.delete.outbox.initial-backoff:10s}")
+    private Duration initialBackoff;
+
+    @Value("${s3.delete.outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    @Value("${s3.delete.outbox.lease:5m}")
+    private Duration lease;
+
+    private final AtomicLong oldestPendingSeconds = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+    private Timer lagTimer;
+
+    @PostConstruct
+    public void init() {
+        lagTimer = Timer.builder("s3.deletion.outbox.lag")
+                .description("Time from row delete to S3 object removal")
+                .register(meterRegistry);
+        Gauge.builder("s3.deletion.outbox.oldest.age", oldestPendingSeconds, AtomicLong::get)
+                .description("Age in seconds of the oldest pending S3 deletion")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("s3-delete-outbox-"));
+        scheduler.scheduleWithFixedDelay(this::drainSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void drainSafely() {
+        try {
+            drain();
+        } catch (Exception e) {
+            logger.error("S3 deletion outbox drain failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public int drain() {
+        int deleted = 0;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+            List<Long> dueIds = outboxRepository.findDueIds(now, PageRequest.of(0, batchSize));
+            if (dueIds.isEmpty()) {
+                break;
+            }
+
+            // Instances share the table; an entry is only worked on by the pass that claimed it
+            String token = UUID.randomUUID().toString();
+            if (outboxRepository.claim(dueIds, token, now, now.plus(lease)) == 0) {
+                break;
+            }
+            List<S3DeletionOutbox> claimed = outboxRepository.findByClaimToken(token);
+
+            List<String> urls = new ArrayList<>(claimed.size());
+            claimed.forEach(entry -> urls.add(entry.getObjectUrl()));
+            Set<String> failedUrls = storageBackend.deleteAll(urls);
+
+            List<Long> doneIds = new ArrayList<>(claimed.size());
+            Map<Integer, List<Long>> retriesByAttempts = new HashMap<>();
+            for (S3DeletionOutbox entry : claimed) {
+                if (failedUrls.contains(entry.getObjectUrl())) {
+                    retriesByAttempts.computeIfAbsent(entry.getAttempts() + 1, attempts -> new ArrayList<>()).add(entry.getId());
+                } else {
+                    doneIds.add(entry.getId());
+                    lagTimer.record(Duration.between(entry.getCreatedAt(), now));
+                }
+            }
+
+            if (!doneIds.isEmpty()) {
+                outboxRepository.deleteAllByIdInBatch(doneIds);
+                deleted += doneIds.size();
+            }
+            int retries = 0;
+            for (Map.Entry<Integer, List<Long>> group : retriesByAttempts.entrySet()) {
+                retries += outboxRepository.reschedule(group.getValue(), token, now.plus(backoff(group.getKey())));
+            }
+            if (retries > 0) {
+                meterRegistry.counter("s3.deletion.outbox.retries").increment(retries);
+                logger.warn("{} S3 deletions failed and were rescheduled", retries);
+            }
+
+            // Keep draining full batches, but back off as soon as S3 starts rejecting every key
+            if (dueIds.size() < batchSize || doneIds.isEmpty()) {
+                break;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        oldestPendingSeconds.set(outboxRepository.findFirstByOrderByIdAsc()
+                .map(entry -> Duration.between(entry.getCreatedAt(), now).getSeconds())
+                .orElse(0L));
+        if (deleted > 0) {
+            logger.info("Drained {} pending S3 deletions", deleted);
+        }
+        return deleted;
+    }
+
+    private Duration backoff(int attempts) {
+        long multiplier = 1L << Math.min(attempts - 1, 20);
+        Duration delay = initialBackoff.multipliedBy(multiplier);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
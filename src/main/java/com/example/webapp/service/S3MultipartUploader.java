@@ -0,0 +1,162 @@
+package com.example.webapp.service;
+
+import com.example.webapp.config.VirtualThreadConfig;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Splits a large body into parts and uploads them concurrently using the S3
+ * multipart API. At most {@code s3.multipart.concurrency} parts of a single
+ * upload are buffered in memory at once, and all uploads share one bounded pool.
+ */
+@Service
+public class S3MultipartUploader {
+    private static final Logger logger = LoggerFactory.getLogger(S3MultipartUploader.class);
+
+    // S3 rejects parts smaller than 5MB (except the last) and uploads with more than 10000 parts
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    private static final int MAX_PARTS = 10_000;
+
+    @Autowired
+    private AmazonS3 amazonS3Client;
+
+    @Autowired
+    private VirtualThreadConfig virtualThreadConfig;
+
+    @Value("${s3.multipart.part-size:8MB}")
+    private DataSize partSize;
+
+    @Value("${s3.multipart.concurrency:4}")
+    private int concurrency;
+
+    @Value("${s3.multipart.pool-size:16}")
+    private int poolSize;
+
+    @Value("${s3.multipart.queue-capacity:64}")
+    private int queueCapacity;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), virtualThreadConfig.threadFactory("s3-part-"));
+        logger.info("S3 multipart uploader initialized: partSize={}, concurrency={}, poolSize={}, queueCapacity={}",
+                partSize, concurrency, poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public void upload(String bucket, String key, InputStream in, long size, String contentType) throws IOException {
+        int partBytes = (int) Math.max(Math.max(partSize.toBytes(), MIN_PART_SIZE), (size + MAX_PARTS - 1) / MAX_PARTS);
+
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        String uploadId = amazonS3Client
+                .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, key, metadata))
+                .getUploadId();
+        logger.info("Started multipart upload {} for key {} ({} bytes, {} byte parts)", uploadId, key, size, partBytes);
+
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Future<PartETag>> parts = new ArrayList<>();
+        try {
+            long remaining = size;
+            int partNumber = 1;
+            while (remaining > 0) {
+                // The permit is taken before the part is buffered, so at most concurrency buffers are live
+                permits.acquire();
+                if (failure.get() != null) {
+                    permits.release();
+                    break;
+                }
+
+                int length = (int) Math.min(partBytes, remaining);
+                byte[] buffer = new byte[length];
+                if (in.readNBytes(buffer, 0, length) < length) {
+                    permits.release();
+                    throw new IOException("Unexpected end of stream at part " + partNumber);
+                }
+                UploadPartRequest request = new UploadPartRequest()
+                        .withBucketName(bucket)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withPartSize(length)
+                        .withInputStream(new ByteArrayInputStream(buffer));
+                try {
+                    parts.add(executor.submit(() -> {
+                        try {
+                            return amazonS3Client.uploadPart(request).getPartETag();
+                        } catch (RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                            throw e;
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                } catch (RejectedExecutionException e) {
+                    // Every upload's parts are queued: fail this one rather than buffer without bound
+                    permits.release();
+                    throw e;
+                }
+
+                remaining -= length;
+                partNumber++;
+            }
+
+            List<PartETag> etags = new ArrayList<>(parts.size());
+            for (Future<PartETag> part : parts) {
+                etags.add(part.get());
+            }
+            amazonS3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, etags));
+            logger.info("Completed multipart upload {} for key {} in {} parts", uploadId, key, etags.size());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            parts.forEach(part -> part.cancel(true));
+            abort(bucket, key, uploadId);
+            throw new IOException("Multipart upload failed for key " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void abort(String bucket, String key, String uploadId) {
+        try {
+            amazonS3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+            logger.warn("Aborted multipart upload {} for key {}", uploadId, key);
+        } catch (Exception e) {
+            logger.error("Failed to abort multipart upload {} for key {}: {}", uploadId, key, e.getMessage(), e);
+        }
+    }
+}
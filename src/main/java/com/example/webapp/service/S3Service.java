@@ -1,6 +1,13 @@
 package com.example.webapp.service;
 
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import org.slf4j.Logger;
@@ -8,82 +15,191 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.unit.DataSize;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class S3Service {
     private static final Logger logger = LoggerFactory.getLogger(S3Service.class);
 
+    // Upper bound on keys in a single DeleteObjects request
+    private static final int MAX_DELETE_KEYS = 1000;
+
     @Autowired
     private AmazonS3 amazonS3Client;
 
+    @Autowired
+    private S3MultipartUploader multipartUploader;
+
     @Value("${S3_BUCKET}")
     private String bucketName;
 
-    public String uploadFile(MultipartFile file) throws IOException {
+    @Value("${s3.multipart.threshold:16MB}")
+    private DataSize multipartThreshold;
+
+    @Value("${s3.presign.expiration:15m}")
+    private Duration presignExpiration;
+
+    /**
+     * Uploads a body under a caller-chosen key and returns its URL. Failures
+     * are propagated to the caller.
+     */
+    public String uploadObject(String key, InputStream in, long size, String contentType) throws IOException {
         if (bucketName == null || bucketName.isEmpty()) {
-            logger.warn("No S3 bucket configured. Skipping S3 upload.");
-            return generateLocalUrl(file.getOriginalFilename());
+            logger.warn("No S3 bucket configured. Skipping S3 upload; set storage.backend=local to keep files on disk.");
+            return getUrl(key);
         }
 
-        try {
-            String fileName = generateUniqueFileName(file.getOriginalFilename());
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentLength(file.getSize());
-            metadata.setContentType(file.getContentType());
-
-            PutObjectRequest request = new PutObjectRequest(
-                    bucketName,
-                    fileName,
-                    file.getInputStream(),
-                    metadata
-            );
-
-            amazonS3Client.putObject(request);
-            return amazonS3Client.getUrl(bucketName, fileName).toString();
-        } catch (Exception e) {
-            logger.error("Error uploading to S3", e);
-            return generateLocalUrl(file.getOriginalFilename());
+        // Large bodies go through the parallel multipart path instead of a single putObject
+        if (size >= multipartThreshold.toBytes()) {
+            multipartUploader.upload(bucketName, key, in, size, contentType);
+            return getUrl(key);
         }
+
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(size);
+        metadata.setContentType(contentType);
+
+        PutObjectRequest request = new PutObjectRequest(
+                bucketName,
+                key,
+                in,
+                metadata
+        );
+
+        amazonS3Client.putObject(request);
+        return getUrl(key);
     }
 
-    public void deleteFile(String fileUrl) {
+    /**
+     * Opens {@code count} bytes of the object starting at {@code position}.
+     */
+    public InputStream getObjectContent(String key, long position, long count) {
+        if (bucketName == null || bucketName.isEmpty()) {
+            throw new IllegalStateException("No S3 bucket configured");
+        }
+
+        GetObjectRequest request = new GetObjectRequest(bucketName, key)
+                .withRange(position, position + count - 1);
+        return amazonS3Client.getObject(request).getObjectContent();
+    }
+
+    /**
+     * Deletes many objects using multi-object delete requests and returns the
+     * URLs whose objects could not be deleted.
+     */
+    public Set<String> deleteFiles(Collection<String> fileUrls) {
+        Set<String> failed = new HashSet<>();
         if (bucketName == null || bucketName.isEmpty()) {
             logger.warn("No S3 bucket configured. Skipping S3 delete.");
-            return;
+            return failed;
+        }
+
+        Map<String, String> urlsByKey = new HashMap<>();
+        for (String fileUrl : fileUrls) {
+            try {
+                urlsByKey.put(extractKeyFromUrl(fileUrl), fileUrl);
+            } catch (IllegalArgumentException e) {
+                logger.error("Cannot delete {} from S3: {}", fileUrl, e.getMessage());
+                failed.add(fileUrl);
+            }
+        }
+
+        List<KeyVersion> keys = new ArrayList<>(urlsByKey.size());
+        urlsByKey.keySet().forEach(key -> keys.add(new KeyVersion(key)));
+        for (int from = 0; from < keys.size(); from += MAX_DELETE_KEYS) {
+            List<KeyVersion> batch = keys.subList(from, Math.min(from + MAX_DELETE_KEYS, keys.size()));
+            try {
+                amazonS3Client.deleteObjects(new DeleteObjectsRequest(bucketName).withKeys(batch).withQuiet(true));
+                logger.info("S3 batch deletion completed for {} keys", batch.size());
+            } catch (MultiObjectDeleteException e) {
+                logger.error("S3 batch deletion failed for {} of {} keys", e.getErrors().size(), batch.size());
+                e.getErrors().forEach(error -> failed.add(urlsByKey.get(error.getKey())));
+            } catch (Exception e) {
+                logger.error("Error in S3 batch deletion: {}", e.getMessage(), e);
+                batch.forEach(key -> failed.add(urlsByKey.get(key.getKey())));
+            }
+        }
+        return failed;
+    }
+
+    public URL generatePresignedUploadUrl(String key, String contentType, Date expiration) {
+        if (bucketName == null || bucketName.isEmpty()) {
+            throw new IllegalStateException("No S3 bucket configured");
+        }
+
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.PUT)
+                .withExpiration(expiration);
+        if (contentType != null && !contentType.isEmpty()) {
+            request.setContentType(contentType);
+        }
+        return amazonS3Client.generatePresignedUrl(request);
+    }
+
+    /**
+     * Returns the stored size of the object in bytes, or -1 if it does not exist.
+     */
+    public long getObjectSize(String key) {
+        if (bucketName == null || bucketName.isEmpty()) {
+            throw new IllegalStateException("No S3 bucket configured");
         }
 
         try {
-            String key = extractKeyFromUrl(fileUrl);
-            logger.info("About to delete S3 object with key: {}", key);
-            amazonS3Client.deleteObject(bucketName, key);
-            logger.info("S3 deletion API call completed for key: {}", key);
-
-            // Verify deletion
-            boolean exists = amazonS3Client.doesObjectExist(bucketName, key);
-            logger.info("Object still exists after deletion? {}", exists);
-        } catch (Exception e) {
-            logger.error("Error in S3 deletion: {}", e.getMessage(), e);
+            return amazonS3Client.getObjectMetadata(bucketName, key).getContentLength();
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return -1;
+            }
+            throw e;
         }
     }
 
-    private String generateUniqueFileName(String originalFilename) {
+    public String getUrl(String key) {
+        if (bucketName == null || bucketName.isEmpty()) {
+            return "local://" + key;
+        }
+        return amazonS3Client.getUrl(bucketName, key).toString();
+    }
+
+    public Duration getPresignExpiration() {
+        return presignExpiration;
+    }
+
+    public String generateUniqueFileName(String originalFilename) {
         return UUID.randomUUID() + "_" + originalFilename;
     }
 
-    private String generateLocalUrl(String originalFilename) {
-        return "local://" + UUID.randomUUID() + "_" + originalFilename;
+    /**
+     * Object key of a URL returned by {@link #getUrl(String)}. URLs of another
+     * backend (e.g. local://) are rejected rather than mapped to a wrong key.
+     */
+    public String getKey(String fileUrl) {
+        return extractKeyFromUrl(fileUrl);
     }
 
     private String extractKeyFromUrl(String fileUrl) {
         try {
-            URL url = new URL(fileUrl);
-            String path = url.getPath();
+            URI uri = new URI(fileUrl);
+            if (!"https".equalsIgnoreCase(uri.getScheme()) && !"http".equalsIgnoreCase(uri.getScheme())) {
+                throw new IllegalArgumentException("Not an S3 object URL: " + fileUrl);
+            }
+            // getUrl percent-encodes the key, so the path is decoded back to it ('+' stays literal in a path)
+            String path = uri.getPath();
 
             // Remove leading slash
             if (path.startsWith("/")) {
@@ -92,7 +208,7 @@ public class S3Service {
 
             logger.info("Extracted path from URL: " + path);
             return path;
-        } catch (MalformedURLException e) {
+        } catch (URISyntaxException e) {
             logger.error("Failed to parse URL: " + fileUrl, e);
 
             // Fallback extraction method if URL parsing fails
@@ -104,4 +220,4 @@ public class S3Service {
             return fileUrl;
         }
     }
-}
\ No newline at end of file
+}
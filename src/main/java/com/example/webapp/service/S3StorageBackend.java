@@ -0,0 +1,64 @@
+package com.example.webapp.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Set;
+
+@Service
+@ConditionalOnProperty(name = "storage.backend", havingValue = "s3", matchIfMissing = true)
+public class S3StorageBackend implements StorageBackend {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private S3Service s3Service;
+
+    @Override
+    public String store(String key, InputStream in, long size, String contentType) throws IOException {
+        return s3Service.uploadObject(key, in, size, contentType);
+    }
+
+    @Override
+    public long size(String key) {
+        return s3Service.getObjectSize(key);
+    }
+
+    @Override
+    public long transferTo(String key, long position, long count, WritableByteChannel target) throws IOException {
+        long written = 0;
+        try (InputStream in = s3Service.getObjectContent(key, position, count)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while (written < count && (read = in.read(buffer, 0, (int) Math.min(buffer.length, count - written))) != -1) {
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    target.write(chunk);
+                }
+                written += read;
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public Set<String> deleteAll(Collection<String> urls) {
+        return s3Service.deleteFiles(urls);
+    }
+
+    @Override
+    public String getUrl(String key) {
+        return s3Service.getUrl(key);
+    }
+
+    @Override
+    public String getKey(String url) {
+        return s3Service.getKey(url);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.webapp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Where file bodies are kept. Selected with {@code storage.backend}: {@code s3}
+ * (default) or {@code local}. Objects are addressed by key; the URL returned by
+ * {@link #store} is what is saved on the file row.
+ */
+public interface StorageBackend {
+
+    /**
+     * Stores the body under the key, replacing any existing object, and
+     * returns its URL. The object is not visible until the whole body is stored.
+     */
+    String store(String key, InputStream in, long size, String contentType) throws IOException;
+
+    /**
+     * Returns the stored size in bytes, or -1 if there is no object for the key.
+     */
+    long size(String key) throws IOException;
+
+    /**
+     * Copies {@code count} bytes of the object starting at {@code position} to
+     * the target and returns the number of bytes written.
+     */
+    long transferTo(String key, long position, long count, WritableByteChannel target) throws IOException;
+
+    /**
+     * Deletes the objects behind the URLs and returns the URLs that could not
+     * be deleted. Missing objects count as deleted.
+     */
+    Set<String> deleteAll(Collection<String> urls);
+
+    String getUrl(String key);
+
+    String getKey(String url);
+}
@@ -0,0 +1,42 @@
+-- Converts file.id from VARCHAR(36) to BINARY(16) (MySQL 8).
+--
+-- Order: run once, with the application stopped, against the schema of the
+-- release that is still deployed (file has only id, file_name,
+-- original_file_name, url and upload_date), then deploy the release that
+-- stores ids as BINARY(16). ddl-auto=update does not change column types, so
+-- the new release must never start against the VARCHAR(36) table.
+--
+-- The new table gets every column the new release maps, so no row is left
+-- without a status. Rows written before storage_key existed keep it NULL: the
+-- application derives their key from the URL (FileService.storageKey). The new
+-- release's ddl-auto=update adds the listing, status and storage_key indexes.
+--
+-- Existing ids keep their value and canonical string form, so stored links
+-- and the deletion outbox stay valid. New rows get time-ordered UUIDv7 ids.
+--
+-- For very large tables run the same copy with an online schema change tool
+-- (gh-ost, pt-online-schema-change) instead of the INSERT ... SELECT below.
+
+CREATE TABLE file_binary_id LIKE file;
+ALTER TABLE file_binary_id
+    MODIFY id BINARY(16) NOT NULL,
+    ADD COLUMN storage_key VARCHAR(512) NULL,
+    ADD COLUMN status VARCHAR(16) NULL,
+    ADD COLUMN digest VARCHAR(64) NULL;
+
+INSERT INTO file_binary_id (id, file_name, original_file_name, url, upload_date, storage_key, status, digest)
+SELECT UUID_TO_BIN(id), file_name, original_file_name, url, upload_date, NULL, 'AVAILABLE', NULL
+FROM file;
+
+-- If a build that already added storage_key, status and digest has run against
+-- the VARCHAR(36) table, skip the ADD COLUMN clauses above and copy them instead:
+--
+-- INSERT INTO file_binary_id (id, file_name, original_file_name, url, upload_date, storage_key, status, digest)
+-- SELECT UUID_TO_BIN(id), file_name, original_file_name, url, upload_date, storage_key,
+--        COALESCE(status, 'AVAILABLE'), digest
+-- FROM file;
+
+RENAME TABLE file TO file_varchar_id, file_binary_id TO file;
+
+-- After verifying the application against the new table:
+-- DROP TABLE file_varchar_id;
@@ -0,0 +1,139 @@
+package com.example.webapp.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long BASELINE = Duration.ofMillis(200).toNanos();
+
+    @Test
+    void rejectsOverTheLimitUntilASlotIsReleased() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 0.9, 2.0, true);
+
+        assertEquals(1, limit.tryAcquire());
+        assertEquals(2, limit.tryAcquire());
+        assertEquals(-1, limit.tryAcquire());
+
+        limit.release(2, BASELINE, false);
+        assertEquals(2, limit.tryAcquire());
+    }
+
+    @Test
+    void growsByOnePerLimitsWorthOfBusyCompletions() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 0.9, 2.0, true);
+
+        // 1/10 + 1/10.1 + ... stays just under one after ten completions
+        completeAll(limit, 10, 10);
+        assertEquals(10, limit.getLimit());
+
+        completeAll(limit, 10, 10);
+        assertEquals(11, limit.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhileLessThanHalfUsed() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 0.9, 2.0, true);
+
+        completeAll(limit, 100, 4);
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void growthStopsAtMaxLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(3, 1, 4, 0.9, 2.0, true);
+
+        completeAll(limit, 100, 4);
+
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    void baselineIsAnExponentialAverageOfSuccesses() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 0.9, 2.0, true);
+
+        limit.tryAcquire();
+        limit.release(1, 1_000, false);
+        assertEquals(1_000, limit.getBaselineNanos(), 0.001);
+
+        limit.tryAcquire();
+        limit.release(1, 2_000, false);
+        assertEquals(1_010, limit.getBaselineNanos(), 0.001);
+
+        // Failures say nothing about healthy latency
+        limit.tryAcquire();
+        limit.release(1, 1_000_000, true);
+        assertEquals(1_010, limit.getBaselineNanos(), 0.001);
+    }
+
+    @Test
+    void failureCutsByBackoffRatioAtMostOncePerBaseline() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = withBaseline(true);
+        Thread.sleep(Duration.ofNanos(BASELINE).toMillis() + 50);
+
+        limit.tryAcquire();
+        limit.release(1, BASELINE, true);
+        assertEquals(9, limit.getLimit());
+
+        // Requests already in flight when the cut happened do not cut again
+        limit.tryAcquire();
+        limit.release(1, BASELINE, true);
+        assertEquals(9, limit.getLimit());
+    }
+
+    @Test
+    void slowRequestCutsTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = withBaseline(true);
+        Thread.sleep(Duration.ofNanos(BASELINE).toMillis() + 50);
+
+        limit.tryAcquire();
+        limit.release(1, BASELINE * 3, false);
+
+        assertEquals(9, limit.getLimit());
+    }
+
+    @Test
+    void slowRequestIsIgnoredWithoutLatencySignal() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = withBaseline(false);
+        Thread.sleep(Duration.ofNanos(BASELINE).toMillis() + 50);
+
+        limit.tryAcquire();
+        limit.release(1, BASELINE * 3, false);
+        assertEquals(10, limit.getLimit());
+
+        limit.tryAcquire();
+        limit.release(1, BASELINE, true);
+        assertEquals(9, limit.getLimit());
+    }
+
+    @Test
+    void cutsStopAtMinLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(3, 2, 10, 0.5, 2.0, true);
+
+        // Without a baseline every failure may cut
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire();
+            limit.release(1, 0, true);
+        }
+
+        assertEquals(2, limit.getLimit());
+    }
+
+    private static AdaptiveConcurrencyLimit withBaseline(boolean latencySignal) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 0.9, 2.0, latencySignal);
+        limit.tryAcquire();
+        limit.release(1, BASELINE, false);
+        return limit;
+    }
+
+    private static void completeAll(AdaptiveConcurrencyLimit limit, int completions, int inFlightAtStart) {
+        for (int i = 0; i < completions; i++) {
+            limit.tryAcquire();
+            limit.release(inFlightAtStart, 1_000, false);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.webapp.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdmissionControlFilterTest {
+
+    @Test
+    void clientIsTheEntryAppendedByTheTrustedProxy() {
+        assertEquals("203.0.113.7", AdmissionControlFilter.clientKey(request("203.0.113.7"), 1));
+        // A client cannot pick its bucket by sending its own header
+        assertEquals("203.0.113.7", AdmissionControlFilter.clientKey(request("10.9.9.9, 203.0.113.7"), 1));
+        assertEquals("203.0.113.7", AdmissionControlFilter.clientKey(request("1.1.1.1,2.2.2.2 , 203.0.113.7"), 1));
+    }
+
+    @Test
+    void eachTrustedProxyMovesOneEntryLeft() {
+        assertEquals("203.0.113.7", AdmissionControlFilter.clientKey(request("10.9.9.9, 203.0.113.7, 10.0.0.5"), 2));
+        assertEquals("203.0.113.7", AdmissionControlFilter.clientKey(request("203.0.113.7"), 3));
+    }
+
+    @Test
+    void socketAddressWithoutHeaderOrTrustedProxies() {
+        assertEquals("192.0.2.1", AdmissionControlFilter.clientKey(request(null), 1));
+        assertEquals("192.0.2.1", AdmissionControlFilter.clientKey(request("203.0.113.7"), 0));
+    }
+
+    private static MockHttpServletRequest request(String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/file/x");
+        request.setRemoteAddr("192.0.2.1");
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.webapp.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientRateLimiterTest {
+
+    @Test
+    void admitsTheBurstThenAsksToWaitUpToOneInterval() {
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 5, 64);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("203.0.113.7"));
+        }
+
+        long wait = limiter.tryAcquire("203.0.113.7");
+        assertTrue(wait > 0 && wait <= Duration.ofMillis(100).toNanos(), "wait was " + wait);
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 64);
+
+        assertEquals(0, limiter.tryAcquire("203.0.113.7"));
+        long first = limiter.tryAcquire("203.0.113.7");
+        long second = limiter.tryAcquire("203.0.113.7");
+
+        // Only time passed between the two; the arrival time did not move
+        assertTrue(second <= first, first + " then " + second);
+    }
+
+    @Test
+    void refillsAfterTheEmissionInterval() throws InterruptedException {
+        ClientRateLimiter limiter = new ClientRateLimiter(100, 1, 64);
+
+        assertEquals(0, limiter.tryAcquire("203.0.113.7"));
+        assertTrue(limiter.tryAcquire("203.0.113.7") > 0);
+
+        Thread.sleep(20);
+        assertEquals(0, limiter.tryAcquire("203.0.113.7"));
+    }
+
+    @Test
+    void clientsOnDifferentStripesAreIndependent() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 64);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.webapp.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StorageClientConditionTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(Probes.class);
+
+    @Test
+    void blockingByDefault() {
+        runner.run(context -> {
+            assertThat(context).hasBean("blocking");
+            assertThat(context).doesNotHaveBean("nonBlocking");
+        });
+    }
+
+    @Test
+    void asyncClientOnS3IsNonBlocking() {
+        runner.withPropertyValues("storage.client=async", "storage.backend=s3").run(context -> {
+            assertThat(context).hasBean("nonBlocking");
+            assertThat(context).doesNotHaveBean("blocking");
+        });
+    }
+
+    @Test
+    void asyncClientIsIgnoredOnLocalBackend() {
+        runner.withPropertyValues("storage.client=async", "storage.backend=local").run(context -> {
+            assertThat(context).hasBean("blocking");
+            assertThat(context).doesNotHaveBean("nonBlocking");
+        });
+    }
+
+    @Configuration
+    static class Probes {
+
+        @Bean
+        @Conditional(BlockingStorageCondition.class)
+        String blocking() {
+            return "blocking";
+        }
+
+        @Bean
+        @Conditional(NonBlockingStorageCondition.class)
+        String nonBlocking() {
+            return "nonBlocking";
+        }
+    }
+}
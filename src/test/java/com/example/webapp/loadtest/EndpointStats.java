@@ -0,0 +1,80 @@
+package com.example.webapp.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counts for one endpoint during one load step.
+ * Latencies are measured from the request's scheduled send time, so queueing
+ * inside the generator is charged to the server rather than hidden.
+ */
+class EndpointStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    void recordResponse(int status, long latencyNanos) {
+        latencies.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    void recordFailure(long latencyNanos) {
+        latencies.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        failures.increment();
+    }
+
+    // Scheduled but not sent because the in-flight limit was reached
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    // Scheduled but not sent because no uploaded file was available to target
+    void recordSkipped() {
+        skipped.increment();
+    }
+
+    long completed() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        long serverErrors = statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() >= 500)
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+        return serverErrors + failures.sum();
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    double maxMillis() {
+        return latencies.getMaxValue() / 1_000_000.0;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    long skipped() {
+        return skipped.sum();
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
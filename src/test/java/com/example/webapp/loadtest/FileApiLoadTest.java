@@ -0,0 +1,105 @@
+package com.example.webapp.loadtest;
+
+import com.example.webapp.loadtest.OpenLoopLoadGenerator.Endpoint;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the running application through a series of increasing request
+ * rates, with S3 replaced by {@link LoadTestConfig}'s fault-injecting stand-in
+ * and MySQL by in-memory H2, and reports latency percentiles and throughput
+ * per endpoint for each step. Excluded from the default build; run with
+ *   mvn -Ploadtest test -Dloadtest.rates=100,200,400 -Dloadtest.duration=30s
+ * The report is also written to target/loadtest-report.txt.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "S3_BUCKET=loadtest-bucket",
+        "logging.file.name=target/loadtest.log"
+})
+@Import(LoadTestConfig.class)
+class FileApiLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(FileApiLoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${loadtest.rates:50,100,200}")
+    private double[] rates;
+
+    @Value("${loadtest.duration:20s}")
+    private Duration duration;
+
+    @Value("${loadtest.body-size:16384}")
+    private int bodySize;
+
+    @Value("${loadtest.workers:16}")
+    private int workers;
+
+    @Value("${loadtest.max-in-flight:2000}")
+    private int maxInFlight;
+
+    // Relative weights of each endpoint in the request mix
+    @Value("${loadtest.mix.upload:2}")
+    private int uploadWeight;
+
+    @Value("${loadtest.mix.get:6}")
+    private int getWeight;
+
+    @Value("${loadtest.mix.delete:1}")
+    private int deleteWeight;
+
+    @Value("${loadtest.mix.healthz:1}")
+    private int healthzWeight;
+
+    @Test
+    void saturationCurve() throws InterruptedException, IOException {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        mix.put(Endpoint.UPLOAD, uploadWeight);
+        mix.put(Endpoint.GET, getWeight);
+        mix.put(Endpoint.DELETE, deleteWeight);
+        mix.put(Endpoint.HEALTHZ, healthzWeight);
+
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(
+                URI.create("http://localhost:" + port), mix, bodySize, workers, maxInFlight);
+        StringBuilder report = new StringBuilder();
+        long completed = 0;
+        try {
+            for (double rate : rates) {
+                Map<Endpoint, EndpointStats> stats = generator.run(rate, duration);
+                String step = LoadReport.format(rate, duration, stats);
+                logger.info("\n{}", step);
+                report.append(step).append('\n');
+                completed += stats.values().stream().mapToLong(EndpointStats::completed).sum();
+            }
+        } finally {
+            generator.shutdown();
+        }
+
+        Path reportFile = Paths.get("target", "loadtest-report.txt");
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, report);
+        assertTrue(completed > 0, "No requests completed");
+    }
+}
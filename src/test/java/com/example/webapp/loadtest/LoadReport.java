@@ -0,0 +1,34 @@
+package com.example.webapp.loadtest;
+
+import com.example.webapp.loadtest.OpenLoopLoadGenerator.Endpoint;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    static String format(double offeredRate, Duration duration, Map<Endpoint, EndpointStats> stats) {
+        double seconds = duration.toMillis() / 1000.0;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "Offered load %.0f req/s for %s%n", offeredRate, duration));
+        out.append(String.format(Locale.ROOT, "%-8s %9s %9s %8s %8s %8s %10s %10s %10s %10s  %s%n",
+                "endpoint", "completed", "req/s", "errors", "dropped", "skipped",
+                "p50 ms", "p99 ms", "p999 ms", "max ms", "statuses"));
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats s = entry.getValue();
+            if (s.completed() == 0 && s.dropped() == 0 && s.skipped() == 0) {
+                continue;
+            }
+            out.append(String.format(Locale.ROOT, "%-8s %9d %9.1f %8d %8d %8d %10.2f %10.2f %10.2f %10.2f  %s%n",
+                    entry.getKey().name().toLowerCase(Locale.ROOT), s.completed(), s.completed() / seconds,
+                    s.errors(), s.dropped(), s.skipped(),
+                    s.percentileMillis(50), s.percentileMillis(99), s.percentileMillis(99.9), s.maxMillis(),
+                    s.statuses()));
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.webapp.loadtest;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.example.webapp.support.FaultInjectingAmazonS3;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+@TestConfiguration
+public class LoadTestConfig {
+
+    @Value("${loadtest.s3.latency:20ms}")
+    private Duration s3Latency;
+
+    @Value("${loadtest.s3.jitter:10ms}")
+    private Duration s3Jitter;
+
+    @Value("${loadtest.s3.error-rate:0.0}")
+    private double s3ErrorRate;
+
+    // Replaces the real client for every service that talks to S3
+    @Bean
+    @Primary
+    public AmazonS3 faultInjectingAmazonS3() {
+        return new FaultInjectingAmazonS3(s3Latency, s3Jitter, s3ErrorRate);
+    }
+}
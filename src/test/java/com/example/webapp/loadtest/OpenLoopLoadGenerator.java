@@ -0,0 +1,176 @@
+package com.example.webapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator: requests are sent on a fixed schedule for the
+ * target rate whether or not earlier ones have completed, so a slow server
+ * builds a backlog instead of silently lowering the offered load. Each request
+ * picks an endpoint from a weighted mix.
+ */
+class OpenLoopLoadGenerator {
+
+    enum Endpoint { UPLOAD, GET, DELETE, HEALTHZ }
+
+    private static final int RECENT_IDS = 1024;
+    private static final String BOUNDARY = "loadtest-" + UUID.randomUUID();
+
+    private final URI baseUri;
+    private final Endpoint[] mix;
+    private final byte[] uploadBody;
+    private final int maxInFlight;
+    private final ExecutorService workers;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Uploaded ids: a ring of recent ones for GET, a queue of not yet deleted ones for DELETE
+    private final AtomicReferenceArray<String> recentIds = new AtomicReferenceArray<>(RECENT_IDS);
+    private final AtomicLong uploads = new AtomicLong();
+    private final ConcurrentLinkedQueue<String> deletable = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenLoopLoadGenerator(URI baseUri, Map<Endpoint, Integer> weights, int bodySize, int workerThreads, int maxInFlight) {
+        this.baseUri = baseUri;
+        this.mix = weights.entrySet().stream()
+                .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+                .toArray(Endpoint[]::new);
+        if (mix.length == 0) {
+            throw new IllegalArgumentException("Endpoint mix is empty");
+        }
+        this.uploadBody = multipartBody(bodySize);
+        this.maxInFlight = maxInFlight;
+        this.workers = Executors.newFixedThreadPool(workerThreads);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(workers)
+                .build();
+    }
+
+    Map<Endpoint, EndpointStats> run(double requestsPerSecond, Duration duration) throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Endpoint endpoint = mix[ThreadLocalRandom.current().nextInt(mix.length)];
+            EndpointStats endpointStats = stats.get(endpoint);
+            if (inFlight.get() >= maxInFlight) {
+                endpointStats.recordDropped();
+                continue;
+            }
+            HttpRequest request = request(endpoint);
+            if (request == null) {
+                endpointStats.recordSkipped();
+                continue;
+            }
+
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        inFlight.decrementAndGet();
+                        long latency = System.nanoTime() - intended;
+                        if (error != null) {
+                            endpointStats.recordFailure(latency);
+                            return;
+                        }
+                        endpointStats.recordResponse(response.statusCode(), latency);
+                        if (endpoint == Endpoint.UPLOAD && response.statusCode() == 201) {
+                            remember(response.body());
+                        }
+                    });
+        }
+
+        // Let the backlog finish so its latencies are counted
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return stats;
+    }
+
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        switch (endpoint) {
+            case UPLOAD:
+                return HttpRequest.newBuilder(baseUri.resolve("/v1/file"))
+                        .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(uploadBody))
+                        .build();
+            case GET: {
+                long count = Math.min(uploads.get(), RECENT_IDS);
+                String id = count == 0 ? null : recentIds.get(ThreadLocalRandom.current().nextInt((int) count));
+                return id == null ? null : HttpRequest.newBuilder(baseUri.resolve("/v1/file/" + id)).GET().build();
+            }
+            case DELETE: {
+                String id = deletable.poll();
+                return id == null ? null : HttpRequest.newBuilder(baseUri.resolve("/v1/file/" + id)).DELETE().build();
+            }
+            default:
+                return HttpRequest.newBuilder(baseUri.resolve("/healthz")).GET().build();
+        }
+    }
+
+    private void remember(String body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).get("id");
+            if (id != null) {
+                recentIds.set((int) (uploads.getAndIncrement() % RECENT_IDS), id.asText());
+                deletable.add(id.asText());
+            }
+        } catch (Exception e) {
+            // Unparseable upload responses are already counted by status
+        }
+    }
+
+    private static byte[] multipartBody(int size) {
+        byte[] content = new byte[size];
+        ThreadLocalRandom.current().nextBytes(content);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(size + 256);
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"profilePic\"; filename=\"loadtest.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(content);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.webapp.model;
+
+import com.example.webapp.repositry.FileRepository;
+import com.example.webapp.support.OfflineSpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The BINARY(16) id must hold the same bytes MySQL's UUID_TO_BIN(id) writes
+ * without the swap flag (the hex digits of the canonical form, in order), or
+ * rows converted by db/migration/file_id_binary16.sql could not be found.
+ */
+@OfflineSpringBootTest
+class FileIdStorageTest {
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void hibernateWritesTheBytesOfUuidToBin() {
+        UUID id = UUID.fromString("3f2504e0-4f89-41d3-9a0c-0305e82c3301");
+
+        File file = fileRepository.save(file(id));
+
+        assertArrayEquals(uuidToBin(id), storedId(file));
+    }
+
+    @Test
+    void rowConvertedByUuidToBinIsFoundById() {
+        UUID id = UUID.fromString("9b2c7c5e-1a4d-4e8f-b7a6-52d1e0c4f9a3");
+        jdbcTemplate.update("INSERT INTO file (id, file_name, original_file_name, url, upload_date, status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                uuidToBin(id), id + ".txt", "legacy.txt", "https://test-bucket.s3.amazonaws.com/" + id + ".txt",
+                Date.valueOf(LocalDate.now()), FileStatus.AVAILABLE.name());
+
+        assertEquals("legacy.txt", fileRepository.findById(id).orElseThrow().getOriginalFileName());
+    }
+
+    @Test
+    void versionSevenIdsSortByCreationInStorage() {
+        File first = fileRepository.save(file(UuidV7.generate()));
+        File second = fileRepository.save(file(UuidV7.generate()));
+
+        assertTrue(Arrays.compareUnsigned(storedId(first), storedId(second)) < 0);
+    }
+
+    private byte[] storedId(File file) {
+        return jdbcTemplate.queryForObject("SELECT id FROM file WHERE file_name = ?", byte[].class, file.getFileName());
+    }
+
+    // What UUID_TO_BIN(id) returns for the canonical string: its 32 hex digits as 16 bytes
+    private static byte[] uuidToBin(UUID id) {
+        return HexFormat.of().parseHex(id.toString().replace("-", ""));
+    }
+
+    private static File file(UUID id) {
+        File file = new File();
+        file.setId(id);
+        file.setFileName(id + ".txt");
+        file.setOriginalFileName("original.txt");
+        file.setUrl("https://test-bucket.s3.amazonaws.com/" + id + ".txt");
+        return file;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.webapp.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7Test {
+
+    @Test
+    void versionAndVariantBits() {
+        UUID id = UuidV7.generate();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(0x7, (id.getMostSignificantBits() >>> 12) & 0xF);
+        assertEquals(0b10, id.getLeastSignificantBits() >>> 62);
+    }
+
+    @Test
+    void timestampIsTheGenerationMillisecond() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        // The counter may have borrowed a millisecond or two from earlier bursts
+        long timestamp = UuidV7.timestamp(id);
+        assertTrue(timestamp >= before && timestamp <= after + 2, before + " <= " + timestamp + " <= " + after);
+        assertEquals(-1, UuidV7.timestamp(UUID.randomUUID()));
+    }
+
+    @Test
+    void idsWithinOneMillisecondIncrease() {
+        long millis = System.currentTimeMillis();
+        UUID previous = UuidV7.generate(millis);
+        for (int i = 0; i < 100; i++) {
+            UUID next = UuidV7.generate(millis);
+            assertEquals(sequence(previous) + 1, sequence(next));
+            assertTrue(compareUnsigned(previous, next) < 0, previous + " !< " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void counterOverflowMovesToTheNextMillisecond() {
+        long millis = System.currentTimeMillis();
+        UUID previous = UuidV7.generate(millis);
+        // Run the 12-bit counter past its end while the clock stands still
+        for (int i = 0; i < 4096; i++) {
+            UUID next = UuidV7.generate(millis);
+            assertTrue(compareUnsigned(previous, next) < 0, previous + " !< " + next);
+            previous = next;
+        }
+
+        assertTrue(UuidV7.timestamp(previous) > millis);
+        assertEquals(7, previous.version());
+    }
+
+    @Test
+    void clockGoingBackDoesNotReorderIds() {
+        UUID first = UuidV7.generate(System.currentTimeMillis());
+        UUID second = UuidV7.generate(UuidV7.timestamp(first) - 1_000);
+
+        assertTrue(compareUnsigned(first, second) < 0, first + " !< " + second);
+    }
+
+    // Timestamp and counter, the part of the id that orders it
+    private static long sequence(UUID id) {
+        long mostSigBits = id.getMostSignificantBits();
+        return (mostSigBits >>> 16) << 12 | (mostSigBits & 0xFFFL);
+    }
+
+    // Byte order, as BINARY(16) sorts
+    private static int compareUnsigned(UUID a, UUID b) {
+        int most = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return most != 0 ? most : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
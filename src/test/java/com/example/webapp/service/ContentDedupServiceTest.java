@@ -0,0 +1,112 @@
+package com.example.webapp.service;
+
+import com.example.webapp.model.File;
+import com.example.webapp.model.StoredObject;
+import com.example.webapp.repositry.StoredObjectRepository;
+import com.example.webapp.support.OfflineSpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@OfflineSpringBootTest
+class ContentDedupServiceTest {
+
+    @Autowired
+    private ContentDedupService contentDedupService;
+
+    @Autowired
+    private StoredObjectRepository storedObjectRepository;
+
+    @Test
+    void secondRecordOfSameDigestIsRejectedNotMerged() {
+        String digest = randomDigest();
+        contentDedupService.saveNewObject(file(digest, "s3://bucket/first"), 10);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> contentDedupService.saveNewObject(file(digest, "s3://bucket/second"), 10));
+
+        StoredObject stored = storedObjectRepository.findById(digest).orElseThrow();
+        assertEquals("s3://bucket/first", stored.getUrl());
+        assertEquals(1, stored.getRefCount());
+    }
+
+    @Test
+    void concurrentRecordsOfSameDigestHaveOneWinner() throws Exception {
+        int uploads = 8;
+        String digest = randomDigest();
+        CyclicBarrier start = new CyclicBarrier(uploads);
+        ExecutorService executor = Executors.newFixedThreadPool(uploads);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < uploads; i++) {
+                String url = "s3://bucket/object-" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        contentDedupService.saveNewObject(file(digest, url), 10);
+                        return url;
+                    } catch (DataIntegrityViolationException e) {
+                        return null;
+                    }
+                }));
+            }
+
+            List<String> winners = new ArrayList<>();
+            for (Future<String> result : results) {
+                String url = result.get();
+                if (url != null) {
+                    winners.add(url);
+                }
+            }
+
+            assertEquals(1, winners.size(), "exactly one upload records the digest");
+            StoredObject stored = storedObjectRepository.findById(digest).orElseThrow();
+            assertEquals(winners.get(0), stored.getUrl());
+            assertEquals(1, stored.getRefCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void losingUploadSharesTheRecordedObject() {
+        String digest = randomDigest();
+        contentDedupService.saveNewObject(file(digest, "s3://bucket/first"), 10);
+
+        File loser = file(digest, "s3://bucket/second");
+        assertThrows(DataIntegrityViolationException.class, () -> contentDedupService.saveNewObject(loser, 10));
+        assertTrue(contentDedupService.saveIfStored(loser, 10).isPresent());
+
+        StoredObject stored = storedObjectRepository.findById(digest).orElseThrow();
+        assertEquals("s3://bucket/first", stored.getUrl());
+        assertEquals(2, stored.getRefCount());
+        assertEquals("s3://bucket/first", loser.getUrl());
+    }
+
+    private static File file(String digest, String url) {
+        File file = new File();
+        file.setFileName("body.bin");
+        file.setOriginalFileName("body.bin");
+        file.setUploadDate(LocalDate.now());
+        file.setDigest(digest);
+        file.setUrl(url);
+        return file;
+    }
+
+    private static String randomDigest() {
+        return (UUID.randomUUID().toString() + UUID.randomUUID()).replace("-", "");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.webapp.service;
+
+import com.example.webapp.model.File;
+import com.example.webapp.model.PresignedUpload;
+import com.example.webapp.support.OfflineSpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@OfflineSpringBootTest
+class FileBatchDeleteTest {
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Test
+    void everySpellingOfADeletedIdIsReportedDeleted() throws Exception {
+        String id = upload("spelled.txt").getId().toString();
+        String missing = UUID.randomUUID().toString();
+
+        Map<String, String> results = fileService.deleteFiles(List.of(id, id.toUpperCase(), missing, "not-a-uuid"));
+
+        assertEquals("deleted", results.get(id));
+        assertEquals("deleted", results.get(id.toUpperCase()));
+        assertEquals("not_found", results.get(missing));
+        assertEquals("not_found", results.get("not-a-uuid"));
+    }
+
+    private File upload(String name) throws Exception {
+        PresignedUpload upload = fileService.createPresignedUpload(name, "text/plain");
+        storageBackend.store(upload.key(), new ByteArrayInputStream(new byte[5]), 5, "text/plain");
+        return fileService.commitUpload(upload.key(), 5);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.webapp.service;
+
+import com.example.webapp.model.File;
+import com.example.webapp.model.FilePage;
+import com.example.webapp.repositry.FileRepository;
+import com.example.webapp.support.OfflineSpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset pagination on H2. Each test lists its own upload dates so rows left by
+ * other tests in the shared database stay out of the range.
+ */
+@OfflineSpringBootTest
+@AutoConfigureMockMvc
+class FileListingTest {
+
+    // Newest first; ids compare as unsigned bytes, the way BINARY(16) sorts
+    private static final Comparator<File> LISTING_ORDER = Comparator.comparing(File::getUploadDate)
+            .thenComparing(File::getId, (a, b) -> {
+                int most = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+                return most != 0 ? most : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+            })
+            .reversed();
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void cursorsWalkEveryRowOnceAcrossTiesOnUploadDate() throws Exception {
+        LocalDate day = LocalDate.of(2001, 3, 2);
+        List<File> expected = new ArrayList<>();
+        // Random (version 4) ids, so ties are broken by id and not by insertion order
+        for (int i = 0; i < 7; i++) {
+            expected.add(save(day, UUID.randomUUID()));
+        }
+        expected.add(save(day.minusDays(1), UUID.randomUUID()));
+        expected.add(save(day.minusDays(1), UUID.randomUUID()));
+        expected.sort(LISTING_ORDER);
+
+        List<UUID> listed = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            FilePage page = fileService.listFiles(day.minusDays(1), day, cursor, 3);
+            page.files().forEach(file -> listed.add(file.getId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected.stream().map(File::getId).toList(), listed);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void cursorEncodesTheLastRowOfThePage() throws Exception {
+        LocalDate day = LocalDate.of(2002, 5, 6);
+        List<File> files = new ArrayList<>(List.of(save(day, UUID.randomUUID()), save(day, UUID.randomUUID())));
+        files.sort(LISTING_ORDER);
+
+        FilePage first = fileService.listFiles(day, day, null, 1);
+        assertEquals(cursor(day + "|" + files.get(0).getId()), first.nextCursor());
+
+        FilePage second = fileService.listFiles(day, day, first.nextCursor(), 1);
+        assertEquals(files.get(1).getId(), second.files().get(0).getId());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoCursor() throws Exception {
+        LocalDate day = LocalDate.of(2003, 7, 8);
+        save(day, UUID.randomUUID());
+        save(day, UUID.randomUUID());
+
+        FilePage page = fileService.listFiles(day, day, null, 2);
+
+        assertEquals(2, page.files().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        List<String> cursors = List.of(
+                "not base64!",
+                cursor("no-separator"),
+                cursor("2004-02-30|" + UUID.randomUUID()),
+                cursor("2004-02-03|not-a-uuid"),
+                cursor("|"));
+
+        for (String cursor : cursors) {
+            Exception e = assertThrows(Exception.class, () -> fileService.listFiles(null, null, cursor, 10), cursor);
+            assertEquals("Invalid cursor", e.getMessage());
+        }
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/v1/files").param("cursor", cursor("2004-02-03|not-a-uuid")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
+    private File save(LocalDate uploadDate, UUID id) {
+        File file = new File();
+        file.setId(id);
+        file.setFileName(id + "_listed.txt");
+        file.setOriginalFileName("listed.txt");
+        file.setUrl("https://test-bucket.s3.amazonaws.com/" + id + "_listed.txt");
+        file.setUploadDate(uploadDate);
+        return fileRepository.save(file);
+    }
+
+    private static String cursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.webapp.service;
+
+import com.example.webapp.model.File;
+import com.example.webapp.model.PresignedUpload;
+import com.example.webapp.repositry.FileRepository;
+import com.example.webapp.support.OfflineSpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@OfflineSpringBootTest
+class FileServiceCommitTest {
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Test
+    void keyThatWasNeverIssuedIsRejected() throws Exception {
+        String key = UUID.randomUUID() + "_forged.txt";
+        storageBackend.store(key, new ByteArrayInputStream(new byte[5]), 5, "text/plain");
+
+        Exception e = assertThrows(Exception.class, () -> fileService.commitUpload(key, 5));
+        assertEquals("Invalid upload key", e.getMessage());
+        assertEquals(0, fileRepository.findByStorageKey(key).stream().count());
+    }
+
+    @Test
+    void committingTwiceReturnsTheFirstRow() throws Exception {
+        PresignedUpload upload = issueAndUpload("twice.txt", 5);
+
+        File first = fileService.commitUpload(upload.key(), 5);
+        File second = fileService.commitUpload(upload.key(), 5);
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals("twice.txt", first.getOriginalFileName());
+    }
+
+    @Test
+    void concurrentCommitsCreateOneRow() throws Exception {
+        PresignedUpload upload = issueAndUpload("racing.txt", 5);
+        int threads = 8;
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<File>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    barrier.await();
+                    return fileService.commitUpload(upload.key(), 5);
+                }));
+            }
+            UUID id = results.get(0).get().getId();
+            for (Future<File> result : results) {
+                assertEquals(id, result.get().getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private PresignedUpload issueAndUpload(String name, int size) throws Exception {
+        PresignedUpload upload = fileService.createPresignedUpload(name, "text/plain");
+        storageBackend.store(upload.key(), new ByteArrayInputStream(new byte[size]), size, "text/plain");
+        return upload;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.webapp.service;
+
+import com.example.webapp.model.File;
+import com.example.webapp.model.FileStatus;
+import com.example.webapp.repositry.FileRepository;
+import com.example.webapp.support.OfflineSpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@OfflineSpringBootTest
+class PendingUploadSweepTest {
+
+    private static final Path STAGING_DIR = Paths.get("target/staging");
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Test
+    void staleRowWhoseObjectWasStoredBecomesAvailable() throws Exception {
+        File file = fileRepository.save(pendingFile(hourOldId()));
+        storageBackend.store(file.getStorageKey(), new ByteArrayInputStream(new byte[4]), 4, "text/plain");
+
+        fileService.sweepPendingUploads();
+
+        assertEquals(FileStatus.AVAILABLE, status(file));
+    }
+
+    @Test
+    void staleRowWithoutObjectOrStagedBodyFails() {
+        File file = fileRepository.save(pendingFile(hourOldId()));
+
+        fileService.sweepPendingUploads();
+
+        assertEquals(FileStatus.FAILED, status(file));
+    }
+
+    @Test
+    void staleRowWithStagedBodyIsTransferredAgain() throws Exception {
+        File file = fileRepository.save(pendingFile(hourOldId()));
+        Files.createDirectories(STAGING_DIR);
+        Path staged = STAGING_DIR.resolve(file.getId() + ".upload");
+        Files.write(staged, new byte[6]);
+
+        fileService.sweepPendingUploads();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (status(file) == FileStatus.PENDING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(FileStatus.AVAILABLE, status(file));
+        assertEquals(6, storageBackend.size(file.getStorageKey()));
+        assertFalse(Files.exists(staged));
+    }
+
+    @Test
+    void recentRowIsLeftPending() {
+        File file = fileRepository.save(pendingFile(new File().getId()));
+
+        fileService.sweepPendingUploads();
+
+        assertEquals(FileStatus.PENDING, status(file));
+    }
+
+    private FileStatus status(File file) {
+        return fileRepository.findById(file.getId()).orElseThrow().getStatus();
+    }
+
+    private static File pendingFile(UUID id) {
+        String key = UUID.randomUUID() + "_pending.txt";
+        File file = new File();
+        file.setId(id);
+        file.setFileName("pending.txt");
+        file.setOriginalFileName("pending.txt");
+        file.setUrl("https://test-bucket.s3.amazonaws.com/" + key);
+        file.setStorageKey(key);
+        file.setStatus(FileStatus.PENDING);
+        return file;
+    }
+
+    // A version 7 id generated an hour ago
+    private static UUID hourOldId() {
+        long timestamp = System.currentTimeMillis() - 3_600_000;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID((timestamp << 16) | 0x7000L, leastSigBits);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.webapp.service;
+
+import com.example.webapp.config.ReplicaRoutingDataSource;
+import com.example.webapp.model.File;
+import com.example.webapp.repositry.FileRepository;
+import com.example.webapp.support.OfflineSpringBootTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against an empty replica database, so anything found was read on the
+ * primary and a count of zero means the replica served the query.
+ */
+@OfflineSpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "datasource.replica.urls=jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "datasource.replica.lag-check-interval=1h"
+})
+class ReadReplicaRouterTest {
+
+    @Autowired
+    private ReadReplicaRouter readReplicaRouter;
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private FileRepository fileRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void emptyReplicaWithinLag() {
+        ReplicaRoutingDataSource.Replica replica = routingDataSource.getReplicas().get(0);
+        new JdbcTemplate(replica.dataSource()).execute("CREATE TABLE IF NOT EXISTS file ("
+                + "id BINARY(16) PRIMARY KEY, file_name VARCHAR(255), original_file_name VARCHAR(255),"
+                + " url VARCHAR(255), storage_key VARCHAR(512), upload_date DATE, status VARCHAR(16),"
+                + " digest VARCHAR(64))");
+        replica.setLagSeconds(0);
+    }
+
+    @Test
+    void readScopeQueriesTheReplica() {
+        fileRepository.save(file("primary-only.txt"));
+
+        assertEquals(0L, readReplicaRouter.read(() -> fileRepository.count()));
+        assertTrue(fileRepository.count() > 0);
+    }
+
+    @Test
+    void lookupMissingOnReplicaIsRecheckedOnPrimaryWithinARequest() throws Exception {
+        File file = fileRepository.save(file("fresh.txt"));
+
+        mockMvc.perform(get("/v1/file/{id}", file.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.file_name").value("fresh.txt"));
+    }
+
+    @Test
+    void boundEntityManagerKeepsReadOnPrimary() {
+        fileRepository.save(file("bound.txt"));
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+                new EntityManagerHolder(entityManagerFactory.createEntityManager()));
+        try {
+            assertTrue(readReplicaRouter.read(() -> fileRepository.count()) > 0);
+        } finally {
+            EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            holder.getEntityManager().close();
+        }
+    }
+
+    private static File file(String name) {
+        File file = new File();
+        file.setFileName(name);
+        file.setOriginalFileName(name);
+        file.setUrl("https://test-bucket.s3.amazonaws.com/" + name);
+        return file;
+    }
+}
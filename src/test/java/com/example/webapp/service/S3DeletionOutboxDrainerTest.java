@@ -0,0 +1,68 @@
+package com.example.webapp.service;
+
+import com.example.webapp.model.S3DeletionOutbox;
+import com.example.webapp.repositry.S3DeletionOutboxRepository;
+import com.example.webapp.support.OfflineSpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@OfflineSpringBootTest
+class S3DeletionOutboxDrainerTest {
+
+    @Autowired
+    private S3DeletionOutboxDrainer drainer;
+
+    @Autowired
+    private S3DeletionOutboxRepository outboxRepository;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Test
+    void drainDeletesObjectWhoseKeyNeedsEncoding() throws Exception {
+        String key = UUID.randomUUID() + "_annual report (v2).pdf";
+        S3DeletionOutbox entry = outboxRepository.save(new S3DeletionOutbox(store(key)));
+
+        drainer.drain();
+
+        assertEquals(-1, storageBackend.size(key));
+        assertTrue(outboxRepository.findById(entry.getId()).isEmpty());
+    }
+
+    @Test
+    void entryClaimedByAnotherInstanceIsLeftAlone() throws Exception {
+        String key = UUID.randomUUID() + "_claimed.txt";
+        S3DeletionOutbox entry = outboxRepository.save(new S3DeletionOutbox(store(key)));
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        assertEquals(1, outboxRepository.claim(List.of(entry.getId()), "other-instance", now, now.plusMinutes(5)));
+
+        drainer.drain();
+
+        assertEquals(3, storageBackend.size(key));
+        assertEquals("other-instance", outboxRepository.findById(entry.getId()).orElseThrow().getClaimToken());
+    }
+
+    @Test
+    void secondClaimOfSameEntriesTakesNothing() throws Exception {
+        S3DeletionOutbox entry = outboxRepository.save(new S3DeletionOutbox(store(UUID.randomUUID() + "_twice.txt")));
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+
+        assertEquals(1, outboxRepository.claim(List.of(entry.getId()), "first", now, now.plusMinutes(5)));
+        assertEquals(0, outboxRepository.claim(List.of(entry.getId()), "second", now, now.plusMinutes(5)));
+        assertEquals(List.of(entry.getId()),
+                outboxRepository.findByClaimToken("first").stream().map(S3DeletionOutbox::getId).toList());
+    }
+
+    private String store(String key) throws Exception {
+        return storageBackend.store(key, new ByteArrayInputStream(new byte[3]), 3, "text/plain");
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.webapp.service;
+
+import com.example.webapp.model.File;
+import com.example.webapp.support.OfflineSpringBootTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@OfflineSpringBootTest
+class S3StorageBackendTest {
+
+    private static final List<String> NAMES = List.of(
+            "quarterly report.pdf", "a+b=c.txt", "50% off #1 (final).png", "r\u00e9sum\u00e9.docx", "dir/sub file.txt");
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Autowired
+    private FileService fileService;
+
+    @Test
+    void keyRoundTripsThroughItsEncodedUrl() {
+        for (String name : NAMES) {
+            String key = UUID.randomUUID() + "_" + name;
+            String url = storageBackend.getUrl(key);
+
+            assertEquals(key, storageBackend.getKey(url), url);
+        }
+    }
+
+    @Test
+    void urlOfAnotherBackendIsRejected() {
+        String url = "local://" + UUID.randomUUID() + "_profile.png";
+
+        assertThrows(IllegalArgumentException.class, () -> storageBackend.getKey(url));
+        assertEquals(Set.of(url), storageBackend.deleteAll(List.of(url)));
+    }
+
+    @Test
+    void contentOfRowWithoutRecordedKeyIsFound() throws Exception {
+        for (String name : NAMES) {
+            String key = UUID.randomUUID() + "_" + name;
+            File file = new File();
+            file.setUrl(storageBackend.store(key, new ByteArrayInputStream(new byte[7]), 7, "text/plain"));
+
+            assertEquals(7, fileService.getContentLength(file), file.getUrl());
+        }
+    }
+
+    @Test
+    void deleteByUrlRemovesObjectWithReservedCharacters() throws Exception {
+        for (String name : NAMES) {
+            String key = UUID.randomUUID() + "_" + name;
+            String url = storageBackend.store(key, new ByteArrayInputStream(new byte[3]), 3, "text/plain");
+            assertNotEquals(-1, storageBackend.size(key));
+
+            assertTrue(storageBackend.deleteAll(List.of(url)).isEmpty());
+            assertEquals(-1, storageBackend.size(key), url);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.webapp.support;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InMemoryAmazonS3} that delays every call by a fixed latency plus
+ * uniform jitter, then fails a fraction of calls with a 503 SlowDown, the way
+ * S3 throttles a hot prefix. The delay blocks the calling thread like the real
+ * client does while it waits on the network.
+ */
+public class FaultInjectingAmazonS3 extends InMemoryAmazonS3 {
+
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double errorRate;
+
+    public FaultInjectingAmazonS3(Duration latency, Duration jitter, double errorRate) {
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public PutObjectResult putObject(PutObjectRequest request) {
+        inject("PutObject");
+        return super.putObject(request);
+    }
+
+    @Override
+    public ObjectMetadata getObjectMetadata(String bucketName, String key) {
+        inject("HeadObject");
+        return super.getObjectMetadata(bucketName, key);
+    }
+
+    @Override
+    public void deleteObject(String bucketName, String key) {
+        inject("DeleteObject");
+        super.deleteObject(bucketName, key);
+    }
+
+    @Override
+    public DeleteObjectsResult deleteObjects(DeleteObjectsRequest request) {
+        inject("DeleteObjects");
+        return super.deleteObjects(request);
+    }
+
+    private void inject(String operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyNanos + (jitterNanos > 0 ? random.nextLong(jitterNanos + 1) : 0);
+        if (delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SdkClientException("Interrupted during " + operation, e);
+            }
+        }
+
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            AmazonS3Exception e = new AmazonS3Exception("Injected failure in " + operation);
+            e.setStatusCode(503);
+            e.setErrorCode("SlowDown");
+            throw e;
+        }
+    }
+}
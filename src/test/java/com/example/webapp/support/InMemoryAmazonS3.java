@@ -0,0 +1,118 @@
+package com.example.webapp.support;
+
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.util.SdkHttpUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link com.amazonaws.services.s3.AmazonS3} stand-in for benchmarks and
+ * offline tests. Bodies are read to the end and discarded; only their size and
+ * content type are kept. Operations the application does not use throw
+ * {@link UnsupportedOperationException}.
+ */
+public class InMemoryAmazonS3 extends AbstractAmazonS3 {
+
+    private final Map<String, ObjectMetadata> objects = new ConcurrentHashMap<>();
+
+    @Override
+    public PutObjectResult putObject(PutObjectRequest request) {
+        long size = drain(request.getInputStream());
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(size);
+        if (request.getMetadata() != null) {
+            metadata.setContentType(request.getMetadata().getContentType());
+        }
+        objects.put(path(request.getBucketName(), request.getKey()), metadata);
+        return new PutObjectResult();
+    }
+
+    @Override
+    public ObjectMetadata getObjectMetadata(String bucketName, String key) {
+        ObjectMetadata metadata = objects.get(path(bucketName, key));
+        if (metadata == null) {
+            AmazonS3Exception e = new AmazonS3Exception("Not Found");
+            e.setStatusCode(404);
+            throw e;
+        }
+        return metadata;
+    }
+
+    @Override
+    public boolean doesObjectExist(String bucketName, String key) {
+        return objects.containsKey(path(bucketName, key));
+    }
+
+    @Override
+    public void deleteObject(String bucketName, String key) {
+        objects.remove(path(bucketName, key));
+    }
+
+    @Override
+    public DeleteObjectsResult deleteObjects(DeleteObjectsRequest request) {
+        List<DeleteObjectsResult.DeletedObject> deleted = new ArrayList<>();
+        for (DeleteObjectsRequest.KeyVersion keyVersion : request.getKeys()) {
+            objects.remove(path(request.getBucketName(), keyVersion.getKey()));
+            DeleteObjectsResult.DeletedObject object = new DeleteObjectsResult.DeletedObject();
+            object.setKey(keyVersion.getKey());
+            deleted.add(object);
+        }
+        return new DeleteObjectsResult(request.getQuiet() ? new ArrayList<>() : deleted);
+    }
+
+    @Override
+    public URL getUrl(String bucketName, String key) {
+        try {
+            // Encoded the way the real client encodes it
+            return new URL("https://" + bucketName + ".s3.amazonaws.com/" + SdkHttpUtils.urlEncode(key, true));
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public URL generatePresignedUrl(GeneratePresignedUrlRequest request) {
+        return getUrl(request.getBucketName(), request.getKey());
+    }
+
+    public int size() {
+        return objects.size();
+    }
+
+    public void clear() {
+        objects.clear();
+    }
+
+    private static String path(String bucketName, String key) {
+        return bucketName + "/" + key;
+    }
+
+    private static long drain(InputStream in) {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        try (in) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return total;
+    }
+}
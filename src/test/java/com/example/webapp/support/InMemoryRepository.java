@@ -0,0 +1,104 @@
+package com.example.webapp.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Map-backed implementation of a Spring Data repository interface for
+ * benchmarks and offline tests. Covers the CRUD methods the services call;
+ * derived queries throw {@link UnsupportedOperationException}.
+ */
+public final class InMemoryRepository<T, ID> implements InvocationHandler {
+
+    private final Map<ID, T> rows = new ConcurrentHashMap<>();
+    private final Function<T, ID> idOf;
+
+    private InMemoryRepository(Function<T, ID> idOf) {
+        this.idOf = idOf;
+    }
+
+    public static <R, T, ID> R create(Class<R> repositoryType, Function<T, ID> idOf) {
+        return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType}, new InMemoryRepository<>(idOf)));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+        int arity = args == null ? 0 : args.length;
+        switch (name) {
+            case "save":
+            case "saveAndFlush":
+                return save((T) args[0]);
+            case "saveAll":
+            case "saveAllAndFlush": {
+                List<T> saved = new ArrayList<>();
+                ((Iterable<T>) args[0]).forEach(entity -> saved.add(save(entity)));
+                return saved;
+            }
+            case "findById":
+                return Optional.ofNullable(rows.get((ID) args[0]));
+            case "existsById":
+                return rows.containsKey((ID) args[0]);
+            case "findAll":
+                if (arity == 0) {
+                    return new ArrayList<>(rows.values());
+                }
+                break;
+            case "findAllById": {
+                List<T> found = new ArrayList<>();
+                ((Iterable<ID>) args[0]).forEach(id -> {
+                    T entity = rows.get(id);
+                    if (entity != null) {
+                        found.add(entity);
+                    }
+                });
+                return found;
+            }
+            case "count":
+                return (long) rows.size();
+            case "delete":
+                rows.remove(idOf.apply((T) args[0]));
+                return null;
+            case "deleteById":
+                rows.remove((ID) args[0]);
+                return null;
+            case "deleteAllById":
+            case "deleteAllByIdInBatch":
+                ((Iterable<ID>) args[0]).forEach(rows::remove);
+                return null;
+            case "deleteAll":
+            case "deleteAllInBatch":
+                if (arity == 0) {
+                    rows.clear();
+                } else {
+                    ((Iterable<T>) args[0]).forEach(entity -> rows.remove(idOf.apply(entity)));
+                }
+                return null;
+            case "flush":
+                return null;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryRepository(" + rows.size() + " rows)";
+            default:
+                break;
+        }
+        throw new UnsupportedOperationException(method.toString());
+    }
+
+    private T save(T entity) {
+        rows.put(idOf.apply(entity), entity);
+        return entity;
+    }
+}
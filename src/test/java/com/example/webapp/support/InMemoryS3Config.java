@@ -0,0 +1,17 @@
+package com.example.webapp.support;
+
+import com.amazonaws.services.s3.AmazonS3;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+@TestConfiguration
+public class InMemoryS3Config {
+
+    // Replaces the real client for every service that talks to S3
+    @Bean
+    @Primary
+    public InMemoryAmazonS3 inMemoryAmazonS3() {
+        return new InMemoryAmazonS3();
+    }
+}
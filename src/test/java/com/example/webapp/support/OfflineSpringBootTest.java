@@ -0,0 +1,28 @@
+package com.example.webapp.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Starts the application against in-memory H2 (MySQL mode) and
+ * {@link InMemoryAmazonS3}, so a test needs neither MySQL nor AWS.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:offline;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "S3_BUCKET=test-bucket",
+        "file.upload.async.staging-dir=target/staging",
+        "logging.file.name=target/test.log"
+})
+@Import(InMemoryS3Config.class)
+public @interface OfflineSpringBootTest {
+}